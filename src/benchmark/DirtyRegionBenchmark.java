@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.awt.Rectangle;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.SplittableRandom;
+import view.DirtyRegion;
+import world.BuildWorldModel;
+import world.Space;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Benchmark that plays turns on a generated world, where a player walks to a neighbor
+ * room and the target steps to the next room every turn, and counts the pixels
+ * repainted per turn when the old and new token bounds of the turn are merged into
+ * their bounding box, the way Swing merges repaint calls, and when they are kept in a
+ * DirtyRegion.
+ *
+ */
+public class DirtyRegionBenchmark {
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args optionally the number of rooms, 10000 by default, the number of
+   *             players, 8 by default, and the number of turns, 10000 by default.
+   * @throws IOException if the world cannot be generated
+   */
+  public static void main(String[] args) throws IOException {
+    int numRoom = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    int numPlayers = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    int turns = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+    StringWriter out = new StringWriter();
+    new WorldGenerator(numRoom, 42).write(out);
+    WorldSpec spec = WorldSpec.parse(new BufferedReader(new StringReader(out.toString())),
+        null);
+    List<Space> rooms = new BuildWorldModel(spec, turns).getRoomList();
+    SplittableRandom random = new SplittableRandom(7);
+    int[] playerRooms = new int[numPlayers];
+    for (int i = 0; i < numPlayers; i++) {
+      playerRooms[i] = random.nextInt(numRoom);
+    }
+    int targetRoom = 0;
+    DirtyRegion region = new DirtyRegion();
+    long boundsArea = 0;
+    long regionArea = 0;
+    long start = System.nanoTime();
+    for (int turn = 0; turn < turns; turn++) {
+      int player = turn % numPlayers;
+      Rectangle bounds = playerBounds(rooms.get(playerRooms[player]));
+      region.add(bounds);
+      List<Space> neighbors = rooms.get(playerRooms[player]).getNeighbors();
+      if (!neighbors.isEmpty()) {
+        playerRooms[player] = neighbors.get(random.nextInt(neighbors.size())).getId();
+      }
+      Rectangle moved = playerBounds(rooms.get(playerRooms[player]));
+      region.add(moved);
+      bounds = bounds.union(moved);
+      Rectangle target = targetBounds(rooms.get(targetRoom));
+      region.add(target);
+      bounds = bounds.union(target);
+      targetRoom = (targetRoom + 1) % numRoom;
+      target = targetBounds(rooms.get(targetRoom));
+      region.add(target);
+      bounds = bounds.union(target);
+      boundsArea += (long) bounds.width * bounds.height;
+      regionArea += region.getArea();
+      region.take();
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%d rooms, map %d x %d px, %d players, %d turns%n", numRoom,
+        spec.getCols() * 30, spec.getRows() * 30, numPlayers, turns);
+    System.out.printf("bounding box   %12.0f px per turn%n", (double) boundsArea / turns);
+    System.out.printf("dirty region   %12.0f px per turn%n", (double) regionArea / turns);
+    System.out.printf("%.2f us per turn to collect the region%n", elapsed / 1e3 / turns);
+  }
+
+  private static Rectangle playerBounds(Space room) {
+    return new Rectangle(room.getUpCol() * 30, room.getUpRow() * 30 + 30, 20, 20);
+  }
+
+  private static Rectangle targetBounds(Space room) {
+    return new Rectangle(room.getDownCol() * 30 - 30, room.getDownRow() * 30 - 30, 30, 30);
+  }
+
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import world.ActionJournal;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.JournalReplayer;
+import world.RoomGraph;
+import world.WorldSpec;
+
+/**
+ * Benchmark that records a long game of random moves in a journal and measures how
+ * many events per second are written and replayed.
+ *
+ */
+public class JournalReplayBenchmark {
+  /**
+   * Run the benchmark.
+   *
+   * @param args optionally the number of turns of the game, 1000000 by default.
+   * @throws IOException if the temporary journal file cannot be created
+   */
+  public static void main(String[] args) throws IOException {
+    int numTurns = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+    WorldSpec spec = WorldSpec.fromFile("res/mansion.txt");
+    File file = File.createTempFile("journal", ".dlj");
+    file.deleteOnExit();
+    BuildWorld model = new BuildWorldModel(spec, numTurns, 42);
+    long start = System.nanoTime();
+    try (ActionJournal journal = new ActionJournal(file.getPath())) {
+      model.setJournal(journal);
+      model.addPlayer("Bob", 0, false, 3, 0);
+      model.addPlayer("Amy", 1, false, 3, 5);
+      RoomGraph graph = model.getRoomGraph();
+      while (model.getTurn() < numTurns) {
+        int playerId = model.getCurrentPlayer(model.getTurn()).getId();
+        int roomId = model.getPlayerList().get(playerId).getCurrentRoomId();
+        model.doMove(playerId, graph.neighbor(roomId, model.randomNum(graph.degree(roomId))));
+        model.nextTurn();
+        model.doMoveTarget();
+      }
+    }
+    long events = 3L * (numTurns - 1);
+    System.out.printf("%d events written in %.1f ms, %d bytes%n", events,
+        (System.nanoTime() - start) / 1e6, file.length());
+    for (int i = 0; i < 5; i++) {
+      start = System.nanoTime();
+      BuildWorldModel replayed = JournalReplayer.replay(spec, file.getPath());
+      long elapsed = System.nanoTime() - start;
+      if (!replayed.snapshot().equals(model.snapshot())) {
+        throw new IllegalStateException("Replay does not match the game.");
+      }
+      System.out.printf("replayed in %.1f ms, %.1f million events per second%n", elapsed / 1e6,
+          events * 1e3 / elapsed);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package benchmark;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+import world.Room;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Benchmark that draws the whole map of a generated world the way the map used to be
+ * drawn, one new graphics context and font per room, and with WorldSpec.drawMap on one
+ * thread and on all cores. The map of 10000 rooms takes about 400 MB, run with a heap
+ * of at least 2 GB.
+ *
+ */
+public class MapRenderBenchmark {
+  /**
+   * Run the benchmark.
+   *
+   * @param args optionally the number of rooms, 10000 by default, and the number of
+   *             runs, 3 by default.
+   * @throws IOException if the world cannot be generated
+   */
+  public static void main(String[] args) throws IOException {
+    int numRoom = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+    StringWriter out = new StringWriter();
+    new WorldGenerator(numRoom, 42).write(out);
+    WorldSpec spec = WorldSpec.parse(new BufferedReader(new StringReader(out.toString())),
+        null);
+    Room[] rooms = new Room[numRoom];
+    for (int i = 0; i < numRoom; i++) {
+      rooms[i] = spec.newRoom(i);
+    }
+    int threads = Runtime.getRuntime().availableProcessors();
+    ForkJoinPool one = new ForkJoinPool(1);
+    ForkJoinPool all = new ForkJoinPool(threads);
+    long legacy = Long.MAX_VALUE;
+    long serial = Long.MAX_VALUE;
+    long parallel = Long.MAX_VALUE;
+    for (int run = 0; run < runs; run++) {
+      long start = System.nanoTime();
+      drawLegacy(spec, rooms);
+      legacy = Math.min(legacy, System.nanoTime() - start);
+      start = System.nanoTime();
+      spec.drawMap(one);
+      serial = Math.min(serial, System.nanoTime() - start);
+      start = System.nanoTime();
+      spec.drawMap(all);
+      parallel = Math.min(parallel, System.nanoTime() - start);
+    }
+    one.shutdown();
+    all.shutdown();
+    System.out.printf("%d rooms, map %d x %d px%n", numRoom, spec.getCols() * 30,
+        spec.getRows() * 30);
+    System.out.printf("per room context and font  %8.1f ms%n", legacy / 1e6);
+    System.out.printf("bands on 1 thread          %8.1f ms%n", serial / 1e6);
+    System.out.printf("bands on %2d threads        %8.1f ms%n", threads, parallel / 1e6);
+  }
+
+  /**
+   * Helper method to draw the map the way it was drawn before it was cut into bands.
+   */
+  private static BufferedImage drawLegacy(WorldSpec spec, Room[] rooms) {
+    int mapRow = spec.getRows() * 30;
+    int mapCol = spec.getCols() * 30;
+    BufferedImage image = new BufferedImage(mapCol, mapRow, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2d = (Graphics2D) image.getGraphics();
+    g2d.setPaint(Color.lightGray);
+    g2d.fillRect(0, 0, mapCol, mapRow);
+    for (Room room : rooms) {
+      int ur = room.getUpRow();
+      int uc = room.getUpCol();
+      int dr = room.getDownRow();
+      int dc = room.getDownCol();
+      g2d = (Graphics2D) image.getGraphics();
+      g2d.setPaint(Color.darkGray);
+      g2d.setStroke(new BasicStroke(2));
+      g2d.drawRect(uc * 30, ur * 30, (dc - uc) * 30, (dr - ur) * 30);
+      g2d.setPaint(Color.gray);
+      g2d.fillRect(uc * 30, ur * 30, (dc - uc) * 30, (dr - ur) * 30);
+      Font font = new Font("MV Boli", Font.BOLD, 16);
+      g2d.setPaint(Color.white);
+      g2d.setFont(font);
+      g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      g2d.drawString(room.getName(), uc * 30 + 5, ur * 30 + 20);
+    }
+    return image;
+  }
+}
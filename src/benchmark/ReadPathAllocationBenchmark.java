@@ -0,0 +1,58 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntSupplier;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.WorldSpec;
+
+/**
+ * Benchmark that measures how many bytes the read paths of the model allocate per
+ * call, using the allocation counter of the current thread.
+ *
+ */
+public class ReadPathAllocationBenchmark {
+
+  private static final int CALLS = 1_000_000;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args optionally the path of the world file, res/mansion.txt by default.
+   */
+  public static void main(String[] args) {
+    String path = args.length > 0 ? args[0] : "res/mansion.txt";
+    BuildWorld model = new BuildWorldModel(WorldSpec.fromFile(path), 100);
+    int numRoom = model.getRoomList().size();
+    for (int i = 0; i < 4; i++) {
+      model.addPlayer("Player " + i, i, false, 3, i * 3 % numRoom);
+    }
+    measure("getRoomList", () -> model.getRoomList().size());
+    measure("getPlayerList", () -> model.getPlayerList().size());
+    measure("getItemInRoom", () -> model.getItemInRoom(0).size());
+    measure("getNeigList", () -> model.getNeigList(0).size());
+    measure("Space.getPlayers", () -> model.getRoomList().get(3).getPlayers().size());
+    measure("Player.getItemList", () -> model.getPlayerList().get(0).getItemList().size());
+    measure("canBeSeen", () -> model.canBeSeen(model.getPlayerList().get(1)) ? 1 : 0);
+  }
+
+  private static void measure(String name, IntSupplier call) {
+    com.sun.management.ThreadMXBean bean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    int sink = 0;
+    // warm up so that the measured calls run compiled code
+    for (int i = 0; i < CALLS; i++) {
+      sink += call.getAsInt();
+    }
+    long before = bean.getThreadAllocatedBytes(thread);
+    long start = System.nanoTime();
+    for (int i = 0; i < CALLS; i++) {
+      sink += call.getAsInt();
+    }
+    long elapsed = System.nanoTime() - start;
+    long allocated = bean.getThreadAllocatedBytes(thread) - before;
+    System.out.printf("%-20s %8.2f bytes/call %8.1f ns/call (%d)%n", name,
+        (double) allocated / CALLS, (double) elapsed / CALLS, sink);
+  }
+}
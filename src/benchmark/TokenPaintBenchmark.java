@@ -0,0 +1,140 @@
+package benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import view.TokenLayer;
+import world.BuildWorldModel;
+import world.ReadOnlyWorld;
+import world.ReadOnlyWorldImpl;
+import world.Space;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Benchmark that puts many player tokens on the map of a generated world, once as a
+ * button per player added to the map label the way the view used to, and once on a
+ * TokenLayer. It times adding the players, painting a viewport of the map and showing
+ * only the players of one room. Run with -Djava.awt.headless=true on a machine with no
+ * display.
+ *
+ */
+public class TokenPaintBenchmark {
+
+  private static final int VIEW_WIDTH = 850;
+  private static final int VIEW_HEIGHT = 650;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args optionally the numbers of players, 100 1000 5000 by default.
+   * @throws IOException if the world cannot be generated
+   */
+  public static void main(String[] args) throws IOException {
+    int[] counts = {100, 1000, 5000};
+    if (args.length > 0) {
+      counts = new int[args.length];
+      for (int i = 0; i < args.length; i++) {
+        counts[i] = Integer.parseInt(args[i]);
+      }
+    }
+    StringWriter out = new StringWriter();
+    new WorldGenerator(40, 42).write(out);
+    WorldSpec spec = WorldSpec.parse(new BufferedReader(new StringReader(out.toString())),
+        null);
+    ReadOnlyWorld model = new ReadOnlyWorldImpl(new BuildWorldModel(spec, 100));
+    List<Space> rooms = model.getRoomList();
+    BufferedImage image = new BufferedImage(VIEW_WIDTH, VIEW_HEIGHT,
+        BufferedImage.TYPE_INT_ARGB);
+    int width = spec.getCols() * 30;
+    int height = spec.getRows() * 30;
+    System.out.printf("%8s %22s %22s %22s%n", "players", "add ms (old / layer)",
+        "paint ms (old / layer)", "show ms (old / layer)");
+    for (int count : counts) {
+      // buttons, every add puts all buttons on the label again as the view did
+      long start = System.nanoTime();
+      JLabel label = new JLabel();
+      label.setBounds(0, 0, width, height);
+      List<JButton> buttons = new ArrayList<>();
+      int[] roomCorners = new int[count];
+      for (int id = 0; id < count; id++) {
+        Space room = rooms.get(id % rooms.size());
+        roomCorners[id] = room.getUpRow() << 16 | room.getUpCol();
+        buttons.add(newButton(room.getUpCol(), room.getUpRow(), id / rooms.size() + 1));
+        for (JButton button : buttons) {
+          label.add(button);
+        }
+      }
+      long oldAdd = System.nanoTime() - start;
+      start = System.nanoTime();
+      TokenLayer layer = new TokenLayer(model, width, height);
+      for (int id = 0; id < count; id++) {
+        Space room = rooms.get(id % rooms.size());
+        layer.addPlayer(id, room.getUpCol(), room.getUpRow(), id / rooms.size() + 1);
+      }
+      long layerAdd = System.nanoTime() - start;
+      long oldPaint = Long.MAX_VALUE;
+      long layerPaint = Long.MAX_VALUE;
+      long oldShow = Long.MAX_VALUE;
+      long layerShow = Long.MAX_VALUE;
+      // every player is shown while painting
+      for (int run = 0; run < 20; run++) {
+        Graphics2D g2d = image.createGraphics();
+        g2d.setClip(0, 0, VIEW_WIDTH, VIEW_HEIGHT);
+        start = System.nanoTime();
+        label.paint(g2d);
+        oldPaint = Math.min(oldPaint, System.nanoTime() - start);
+        start = System.nanoTime();
+        layer.paint(g2d);
+        layerPaint = Math.min(layerPaint, System.nanoTime() - start);
+        g2d.dispose();
+      }
+      for (int run = 0; run < 20; run++) {
+        int shown = run % rooms.size();
+        start = System.nanoTime();
+        for (int id = 0; id < count; id++) {
+          int roomId = model.findRoomId((roomCorners[id] & 0xFFFF) * 30 + 1,
+              (roomCorners[id] >>> 16) * 30 + 1);
+          buttons.get(id).setVisible(roomId == shown);
+        }
+        oldShow = Math.min(oldShow, System.nanoTime() - start);
+        start = System.nanoTime();
+        layer.showOnlyRoom(shown);
+        layerShow = Math.min(layerShow, System.nanoTime() - start);
+      }
+      System.out.printf("%8d %10.2f / %9.2f %10.2f / %9.2f %10.3f / %9.3f%n", count,
+          oldAdd / 1e6, layerAdd / 1e6, oldPaint / 1e6, layerPaint / 1e6, oldShow / 1e6,
+          layerShow / 1e6);
+    }
+  }
+
+  /**
+   * Helper method to make a button like the player buttons the view used to add.
+   */
+  private static JButton newButton(int posX, int posY, int posInRoom) {
+    JButton button = new JButton() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public void paintComponent(Graphics g) {
+        g.fillOval(getWidth() / 2 - 10, getHeight() / 2 - 10, 20, 20);
+      }
+    };
+    button.setBounds(posX * 30 + (posInRoom - 1) * 20, posY * 30 + 30, 20, 20);
+    button.setForeground(Color.pink);
+    button.setOpaque(false);
+    button.setFocusPainted(false);
+    button.setBorderPainted(false);
+    return button;
+  }
+
+}
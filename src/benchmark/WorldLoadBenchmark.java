@@ -0,0 +1,52 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Benchmark that generates large worlds and measures how long it takes to read,
+ * validate and find the neighbors of all rooms, and to load the same worlds once
+ * compiled.
+ *
+ */
+public class WorldLoadBenchmark {
+  /**
+   * Run the benchmark.
+   *
+   * @param args optionally the number of rooms of the largest world, 100000 by default.
+   * @throws IOException if the temporary world file cannot be created
+   */
+  public static void main(String[] args) throws IOException {
+    int maxRoom = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    for (int numRoom = 1000; numRoom <= maxRoom; numRoom *= 10) {
+      File file = File.createTempFile("world" + numRoom, ".txt");
+      file.deleteOnExit();
+      new WorldGenerator(numRoom, 42).writeFile(file.getPath());
+      long best = Long.MAX_VALUE;
+      for (int i = 0; i < 5; i++) {
+        long start = System.nanoTime();
+        WorldSpec spec = WorldSpec.fromFile(file.getPath());
+        best = Math.min(best, System.nanoTime() - start);
+        if (spec.getNumRoom() != numRoom) {
+          throw new IllegalStateException("Wrong number of rooms.");
+        }
+      }
+      File compiled = File.createTempFile("world" + numRoom, ".dlw");
+      compiled.deleteOnExit();
+      WorldSpec.fromFile(file.getPath()).writeCompiled(compiled.getPath());
+      long bestCompiled = Long.MAX_VALUE;
+      for (int i = 0; i < 5; i++) {
+        long start = System.nanoTime();
+        WorldSpec spec = WorldSpec.fromFile(compiled.getPath());
+        bestCompiled = Math.min(bestCompiled, System.nanoTime() - start);
+        if (spec.getNumRoom() != numRoom) {
+          throw new IllegalStateException("Wrong number of rooms.");
+        }
+      }
+      System.out.printf("%8d rooms loaded in %8.1f ms, compiled in %8.1f ms%n", numRoom,
+          best / 1e6, bestCompiled / 1e6);
+    }
+  }
+}
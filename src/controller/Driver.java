@@ -4,6 +4,7 @@ import view.SwingWorldView;
 import view.WorldView;
 import world.BuildWorld;
 import world.BuildWorldModel;
+import world.MonteCarloComputerPlayer;
 
 /**
  * Driver class for Doctor Lucky game to show how it works.
@@ -14,12 +15,23 @@ public class Driver {
   /**
    * Driver program to show how game works.
    * 
-   * @param args command line arguments represents world file path.
+   * @param args command line arguments represents world file path, max turn, and
+   *             optionally the time in milliseconds computer players search for
+   *             their action. Games are recorded in the file given by the journal
+   *             system property, if it is set, and the map picture of every world is
+   *             written unless the writeMap system property is false.
    */
   public static void main(String[] args) {
     BuildWorld model = new BuildWorldModel(args);
     WorldView view = new SwingWorldView(model);
-    WorldController controller = new SwingController(model, view);
+    SwingController controller = new SwingController(model, view);
+    if (args.length > 2) {
+      controller.setComputerPlayer(new MonteCarloComputerPlayer(Long.parseLong(args[2]),
+          Runtime.getRuntime().availableProcessors(), System.nanoTime()));
+    }
+    // games are only recorded when asked, so a run never replaces a journal by surprise
+    controller.setJournalPath(System.getProperty("journal"));
+    controller.setWriteMap(Boolean.parseBoolean(System.getProperty("writeMap", "true")));
     controller.setView(view);
   }
 }
@@ -1,5 +1,6 @@
 package controller;
 
+import javax.swing.SwingUtilities;
 import view.WorldView;
 import world.BuildWorld;
 
@@ -30,8 +31,14 @@ public class GenerateMap implements WorldCommand {
     if (m == null) {
       throw new IllegalArgumentException("model cannot be null");
     }
-    m.generateMap();
-    view.setTextToWindow("Graphical representation of the world map is created.\n");
+    view.setTextToWindow("Graphical representation of the world map is being written.\n");
+    m.generateMap().whenComplete((path, error) -> SwingUtilities.invokeLater(() -> {
+      if (error == null) {
+        view.appendTextToWindow("Graphical representation of the world map is created.\n");
+      } else {
+        view.appendTextToWindow("Unable to write the graphical representation of the map.\n");
+      }
+    }));
   }
 
 }
@@ -0,0 +1,42 @@
+package controller;
+
+import world.HeadlessSimulator;
+import world.ParallelSimulator;
+import world.SimulationReport;
+import world.Simulator;
+
+/**
+ * Driver class that plays many Doctor Lucky games with computer controlled players
+ * only and prints the statistics of the games, no view is created.
+ *
+ */
+public class SimulationDriver {
+  /**
+   * Driver program to run a headless simulation.
+   * 
+   * @param args path of the world file, max turn, number of games, and optionally
+   *             number of players, bag capacity, seed and number of threads.
+   */
+  public static void main(String[] args) {
+    if (args.length < 3) {
+      System.out.println("Usage: SimulationDriver <world file> <max turn> <number of games>"
+          + " [number of players] [bag capacity] [seed] [threads]");
+      return;
+    }
+    int maxTurn = Integer.parseInt(args[1]);
+    int numGames = Integer.parseInt(args[2]);
+    int numPlayers = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+    int bagCapacity = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+    long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+    int threads = args.length > 6 ? Integer.parseInt(args[6]) : 1;
+    Simulator simulator;
+    if (threads > 1) {
+      simulator = new ParallelSimulator(args[0], maxTurn, numPlayers, bagCapacity, seed,
+          threads);
+    } else {
+      simulator = new HeadlessSimulator(args[0], maxTurn, numPlayers, bagCapacity, seed);
+    }
+    SimulationReport report = simulator.run(numGames);
+    System.out.print(report.toString());
+  }
+}
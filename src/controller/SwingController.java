@@ -1,10 +1,18 @@
 package controller;
 
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
 import view.SwingWorldView;
 import view.WorldView;
+import world.ActionJournal;
 import world.BuildWorld;
 import world.BuildWorldModel;
+import world.ComputerAction;
+import world.ComputerPlayer;
+import world.RoomGraph;
 
 /**
  * Controller built with command design pattern that takes user's inputs and
@@ -14,8 +22,19 @@ import world.BuildWorldModel;
  */
 public class SwingController implements WorldController, Features {
 
+  // searches of computer players run here so the event dispatch thread stays free
+  private static final ExecutorService SEARCHER = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "computer-search");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private BuildWorld model;
   private WorldView view;
+  private ComputerPlayer computerPlayer;
+  private String journalPath;
+  private ActionJournal journal;
+  private boolean writeMap;
 
   /**
    * Construct a controller with model and view.
@@ -42,8 +61,95 @@ public class SwingController implements WorldController, Features {
     view.setFeatures(this);
   }
 
+  /**
+   * Set the strategy that chooses the actions of computer players. Without a
+   * strategy, computer players do the command the model chooses for them. The
+   * strategy searches on a background thread, the view ignores the keys until the
+   * chosen action is done on the event dispatch thread.
+   * 
+   * @param player the strategy of computer players, null to use the model's command
+   */
+  public void setComputerPlayer(ComputerPlayer player) {
+    this.computerPlayer = player;
+  }
+
+  /**
+   * Record every game from now on in a journal at the given path, which
+   * JournalReplayer can replay. The current game is recorded if it has not started,
+   * and every new or restarted world replaces the journal of the game before. A game
+   * whose journal cannot be opened or written is played without a record.
+   * 
+   * @param path path of the journal file, null to stop recording
+   */
+  public void setJournalPath(String path) {
+    this.journalPath = path;
+    startJournal();
+  }
+
+  /**
+   * Helper method to close the journal of the last game and attach a new one to the
+   * current game, if games are recorded.
+   */
+  private void startJournal() {
+    if (journal != null) {
+      journal.close();
+      journal = null;
+    }
+    if (journalPath != null) {
+      ActionJournal opened = null;
+      try {
+        opened = new ActionJournal(journalPath);
+        model.setJournal(opened);
+        journal = opened;
+      } catch (IllegalArgumentException e) {
+        if (opened != null) {
+          opened.close();
+        }
+        view.appendTextToWindow("\nThis game is not recorded: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Write the picture of the map of every world loaded or restarted from now on, and
+   * of the current world if asked to, to worldBufferedImage.png. Pictures are copied
+   * from the map cache on a background thread, a picture that cannot be written is
+   * reported in the view.
+   * 
+   * @param write true to write the pictures
+   */
+  public void setWriteMap(boolean write) {
+    this.writeMap = write;
+    writeMap();
+  }
+
+  /**
+   * Helper method to write the picture of the map of the current world, if pictures
+   * are written.
+   */
+  private void writeMap() {
+    if (!writeMap) {
+      return;
+    }
+    BuildWorld game = model;
+    game.generateMap().whenComplete((path, error) -> {
+      if (error != null) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        SwingUtilities.invokeLater(() -> {
+          // the failure of a world that is gone is not shown
+          if (model == game) {
+            view.appendTextToWindow("\nThe map picture is not written: " + cause.getMessage());
+          }
+        });
+      }
+    });
+  }
+
   @Override
   public void exitProgram() {
+    if (journal != null) {
+      journal.close();
+    }
     System.exit(0);
     view.closeFrame();
   }
@@ -147,6 +253,9 @@ public class SwingController implements WorldController, Features {
     model = new BuildWorldModel(args);
     view = new SwingWorldView(model);
     this.setView(view);
+    startJournal();
+    writeMap();
+    writeMap();
   }
 
   @Override
@@ -155,11 +264,11 @@ public class SwingController implements WorldController, Features {
       throw new IllegalArgumentException("Invalid input.");
     }
     view.closeFrame();
-    String path = model.getFilePath();
-    String[] args = { path, Integer.toString(max) };
-    model = new BuildWorldModel(args);
+    // the world file is not read again, the new game reuses the parsed world.
+    model = new BuildWorldModel(model.getSpec(), max);
     view = new SwingWorldView(model);
     this.setView(view);
+    startJournal();
   }
 
   @Override
@@ -197,6 +306,16 @@ public class SwingController implements WorldController, Features {
   @Override
   public void nextTurn() {
     model.nextTurn();
+    if (journal != null) {
+      // a turn is a few bytes, writing every turn keeps the record of a crashed game
+      try {
+        journal.flush();
+      } catch (IllegalStateException e) {
+        model.setJournal(null);
+        journal = null;
+        view.appendTextToWindow("\nThe rest of this game is not recorded: " + e.getMessage());
+      }
+    }
     int turn = model.getTurn();
     // check if game over.
     if (model.isGameOver()) {
@@ -238,11 +357,9 @@ public class SwingController implements WorldController, Features {
       lookAround(playerId);
     }
     if ("move".equals(cmd)) {
-      Random random = new Random();
       int roomId = model.getPlayerList().get(playerId).getCurrentRoomId();
-      int targetRoomId = model.getRoomList().get(roomId).getNeighbors()
-          .get(model.randomNum(model.getRoomList().get(roomId).getNeighbors().size(), random))
-          .getId();
+      RoomGraph graph = model.getRoomGraph();
+      int targetRoomId = graph.neighbor(roomId, model.randomNum(graph.degree(roomId)));
       move(playerId, targetRoomId);
     }
     if ("pick".equals(cmd)) {
@@ -251,6 +368,75 @@ public class SwingController implements WorldController, Features {
     view.setAction("computerDone");
   }
 
+  /**
+   * Helper method to let the computer player strategy search on the background thread
+   * and finish the turn on the event dispatch thread with the chosen action. If the
+   * search fails the player does the model's command instead. Nothing is done if
+   * another world was started meanwhile.
+   * 
+   * @param playerId id of the computer player
+   * @param turn     the turn of the player
+   */
+  private void searchComputerTurn(int playerId, int turn) {
+    view.setAction("search");
+    view.setTextToWindow("Computer player is choosing its action...");
+    BuildWorld game = model;
+    ComputerPlayer player = computerPlayer;
+    CompletableFuture.supplyAsync(() -> player.chooseAction(game, playerId), SEARCHER)
+        .whenComplete((action, error) -> SwingUtilities.invokeLater(() -> {
+          if (model != game) {
+            return;
+          }
+          if (action != null) {
+            doComputerAction(playerId, action);
+            view.setAction("computerDone");
+          } else {
+            doComputerTurn(playerId);
+          }
+          endComputerTurn(playerId, turn);
+        }));
+  }
+
+  /**
+   * Helper method to show the end of the turn of a computer player.
+   */
+  private void endComputerTurn(int playerId, int turn) {
+    view.appendTextToWindow(String.format("\nThis is Turn: No.%d", turn));
+    // hide other players.
+    view.onlyShowPlayersInCurrentRoom(model.getPlayerList().get(playerId).getCurrentRoomId());
+  }
+
+  /**
+   * Helper method to execute an action chosen by the computer player strategy
+   * through the same commands as the model's commands.
+   * 
+   * @param playerId id of the computer player
+   * @param action   the action to execute
+   */
+  private void doComputerAction(int playerId, ComputerAction action) {
+    switch (action.getType()) {
+      case MOVE:
+        move(playerId, action.getArgument());
+        break;
+      case PICK_ITEM:
+        pick(playerId, action.getArgument());
+        break;
+      case ATTACK:
+        attack(playerId, action.getArgument());
+        break;
+      case POKE:
+        poke(playerId);
+        break;
+      case MOVE_PET:
+        WorldCommand cmd = new MovePet(action.getArgument(), view);
+        cmd.execute(model);
+        break;
+      default:
+        lookAround(playerId);
+        break;
+    }
+  }
+
   @Override
   public void turnStart(int turn) {
     if (turn < 0) {
@@ -260,19 +446,21 @@ public class SwingController implements WorldController, Features {
     view.setCurrentPlayer(playerId);
     
     if (!model.getPlayerList().get(playerId).getIsHuman()) {
+      if (computerPlayer != null) {
+        searchComputerTurn(playerId, turn);
+        return;
+      }
       this.doComputerTurn(playerId);
-      view.appendTextToWindow(String.format("\nThis is Turn: No.%d", turn));
-    } else {
-      // human turn
-      // show game state.
-      this.showGameState(playerId);
-      view.appendTextToWindow(optionsHint());
+      endComputerTurn(playerId, turn);
+      return;
     }
+    // human turn
+    // show game state.
+    this.showGameState(playerId);
+    view.appendTextToWindow(optionsHint());
     // hide other players.
     int roomId = model.getPlayerList().get(playerId).getCurrentRoomId();
     view.onlyShowPlayersInCurrentRoom(roomId);
-    
-    
   }
 
   /**
@@ -0,0 +1,108 @@
+package view;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of the map that have to be painted again, kept as a few rectangles. A
+ * rectangle is merged with another when their bounds cover little more than the two
+ * of them, so tokens moving in the same room give one rectangle while a move from one
+ * corner of a large map to the other gives two small ones, where Swing would repaint
+ * the whole box between them. Past a number of rectangles they are all merged into
+ * their bounds. Used on the event dispatch thread only.
+ *
+ */
+public final class DirtyRegion {
+
+  // pixels a merged rectangle may cover beyond the two it merges
+  private static final int MERGE_SLACK = 64 * 64;
+  private static final int MAX_RECTS = 32;
+
+  private final List<Rectangle> rects;
+
+  /**
+   * Constructor of an empty region.
+   */
+  public DirtyRegion() {
+    rects = new ArrayList<>();
+  }
+
+  /**
+   * Add a rectangle to the region, merging it with the rectangles it is close to.
+   *
+   * @param rect the rectangle, empty rectangles are ignored.
+   */
+  public void add(Rectangle rect) {
+    if (rect == null) {
+      throw new IllegalArgumentException("Invalid input.");
+    }
+    if (rect.isEmpty()) {
+      return;
+    }
+    Rectangle merged = new Rectangle(rect);
+    // a merged rectangle may now be close to one it was not close to before
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int i = 0; i < rects.size(); i++) {
+        Rectangle other = rects.get(i);
+        Rectangle union = merged.union(other);
+        if (merged.intersects(other)
+            || area(union) <= area(merged) + area(other) + MERGE_SLACK) {
+          merged = union;
+          rects.remove(i);
+          changed = true;
+          break;
+        }
+      }
+    }
+    rects.add(merged);
+    if (rects.size() > MAX_RECTS) {
+      Rectangle bounds = rects.get(0);
+      for (Rectangle other : rects) {
+        bounds = bounds.union(other);
+      }
+      rects.clear();
+      rects.add(bounds);
+    }
+  }
+
+  /**
+   * Return whether nothing has to be painted.
+   *
+   * @return true if the region is empty.
+   */
+  public boolean isEmpty() {
+    return rects.isEmpty();
+  }
+
+  /**
+   * Return the rectangles of the region, which do not overlap, and empty the region.
+   *
+   * @return the rectangles to paint.
+   */
+  public List<Rectangle> take() {
+    List<Rectangle> taken = new ArrayList<>(rects);
+    rects.clear();
+    return taken;
+  }
+
+  /**
+   * Return the number of pixels of the region.
+   *
+   * @return the area of the rectangles.
+   */
+  public long getArea() {
+    long sum = 0;
+    for (Rectangle rect : rects) {
+      sum += area(rect);
+    }
+    return sum;
+  }
+
+  private static long area(Rectangle rect) {
+    return (long) rect.width * rect.height;
+  }
+
+}
@@ -45,7 +45,7 @@ public class SwingWorldView extends JFrame implements WorldView {
   private JTextArea textWindow;
   // world map
   private JLabel worldMap;
-  private TargetButton target;
+  private TokenLayer tokens;
   // how many players in the game.
   private int numPlayer;
   // current turn player.
@@ -71,10 +71,8 @@ public class SwingWorldView extends JFrame implements WorldView {
     addPlayerPanel = new AddPlayerPanel();
     textWindow = worldPanel.getTextWindow();
     worldMap = worldPanel.getWorldMap();
+    tokens = worldPanel.getTokens();
     worldPanel.refresh();
-    // add target
-    target = new TargetButton(m.getRoomList().get(0).getUpCol(), m.getRoomList().get(0).getUpRow(),
-        new ReadOnlyWorldImpl(m));
     // store how many players in the world.
     this.numPlayer = 0;
     curPlayerId = 0;
@@ -96,8 +94,6 @@ public class SwingWorldView extends JFrame implements WorldView {
     this.setVisible(true);
     // displayWorldPanel();
     this.switchPanel("welcome");
-
-    worldMap.add(target);
   }
 
   /**
@@ -190,11 +186,7 @@ public class SwingWorldView extends JFrame implements WorldView {
     if (id < 0 || posX < 0 || posY < 0 || posInRoom < 0) {
       throw new IllegalArgumentException("Invalid arguments");
     }
-    PlayerButton playerButton = worldPanel.getPlayerBtnList().get(id);
-    playerButton.move(posX, posY, posInRoom);
-    worldMap.revalidate();
-    worldMap.repaint();
-
+    tokens.movePlayer(id, posX, posY, posInRoom);
   }
 
   @Override
@@ -231,6 +223,18 @@ public class SwingWorldView extends JFrame implements WorldView {
     worldMap.addMouseListener(new MouseAdapter() {
       @Override
       public void mouseClicked(MouseEvent e) {
+        // tokens are painted over the map, so the map hit-tests them first
+        int playerId = tokens.playerAt(e.getX(), e.getY());
+        if (playerId >= 0) {
+          if (!"start".equals(action)) {
+            f.displayPlayerInfo(playerId);
+          }
+          worldPanel.refresh();
+          return;
+        }
+        if (tokens.isTargetAt(e.getX(), e.getY())) {
+          return;
+        }
         if (action == "wait") {
           xCoord = e.getX();
           yCoord = e.getY();
@@ -289,19 +293,6 @@ public class SwingWorldView extends JFrame implements WorldView {
         switchPanel("world");
         // show game start info.
         setTextToWindow("Pressed Eneter to Start the Game.");
-        for (PlayerButton btn : worldPanel.getPlayerBtnList()) {
-          btn.setEnabled(true);
-          btn.addActionListener(new ActionListener() {
-
-            @Override
-            public void actionPerformed(ActionEvent e) {
-              if (!"start".equals(action)) {
-                f.displayPlayerInfo(btn.getId());
-              }
-              worldPanel.refresh();
-            }
-          });
-        }
       }
     });
 
@@ -541,9 +532,7 @@ public class SwingWorldView extends JFrame implements WorldView {
     if (x < 0 || y < 0) {
       throw new IllegalArgumentException("Invalid input.");
     }
-    target.move(x, y);
-    worldMap.revalidate();
-    worldMap.repaint();
+    tokens.moveTarget(x, y);
   }
 
   @Override
@@ -575,17 +564,13 @@ public class SwingWorldView extends JFrame implements WorldView {
     if (playerId < 0) {
       throw new IllegalArgumentException("Invalid input.");
     }
-    for (PlayerButton pbt : worldPanel.getPlayerBtnList()) {
-      if (pbt.getId() != playerId) {
-        PlayerButton movePbt = worldPanel.getPlayerBtnList().get(playerId);
-        if (pbt.getPosX() == movePbt.getPosX() && pbt.getPosY() == movePbt.getPosY()
-            && pbt.getPosInRoom() > movePbt.getPosInRoom()) {
-          pbt.setPosInRoom(pbt.getPosInRoom() - 1);
-        }
+    for (int id = 0; id < tokens.getNumPlayers(); id++) {
+      if (id != playerId && tokens.getPosX(id) == tokens.getPosX(playerId)
+          && tokens.getPosY(id) == tokens.getPosY(playerId)
+          && tokens.getPosInRoom(id) > tokens.getPosInRoom(playerId)) {
+        tokens.setPosInRoom(id, tokens.getPosInRoom(id) - 1);
       }
     }
-    worldMap.revalidate();
-    worldMap.repaint();
   }
 
   @Override
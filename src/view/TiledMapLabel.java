@@ -0,0 +1,55 @@
+package view;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import javax.swing.JLabel;
+import world.MapTiles;
+
+/**
+ * A label showing the world map one tile at a time. Only the tiles under the area
+ * being painted are asked for, so inside a JScrollPane the tiles are drawn as the
+ * viewport exposes them, and the TokenLayer added to the label paints the player and
+ * target tokens on top of the tiles.
+ *
+ */
+public class TiledMapLabel extends JLabel {
+
+  private static final long serialVersionUID = 4203158337268519544L;
+  private final MapTiles tiles;
+
+  /**
+   * Constructor of the tiled map label.
+   *
+   * @param tiles the tiles of the map.
+   */
+  public TiledMapLabel(MapTiles tiles) {
+    if (tiles == null) {
+      throw new IllegalArgumentException("Invalid input.");
+    }
+    this.tiles = tiles;
+    this.setPreferredSize(new Dimension(tiles.getWidth(), tiles.getHeight()));
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+    Rectangle clip = g.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, getWidth(), getHeight());
+    }
+    int size = tiles.getTileSize();
+    int fromCol = Math.max(clip.x, 0) / size;
+    int fromRow = Math.max(clip.y, 0) / size;
+    int toCol = Math.min((clip.x + clip.width - 1) / size, tiles.getNumTileCols() - 1);
+    int toRow = Math.min((clip.y + clip.height - 1) / size, tiles.getNumTileRows() - 1);
+    // the tiles the viewport has not shown before are drawn together
+    tiles.prepare(fromCol, fromRow, toCol, toRow);
+    for (int row = fromRow; row <= toRow; row++) {
+      for (int col = fromCol; col <= toCol; col++) {
+        g.drawImage(tiles.getTile(col, row), col * size, row * size, null);
+      }
+    }
+  }
+
+}
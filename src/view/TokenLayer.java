@@ -0,0 +1,315 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import world.ReadOnlyWorld;
+import world.Space;
+
+/**
+ * A transparent layer over the world map painting the tokens of all players and of
+ * the target in one pass. Tokens are not components, their positions are kept in
+ * arrays indexed by player id, so adding thousands of players adds no layout work,
+ * and only the tokens under the area being painted are drawn. The layer has no mouse
+ * listener, clicks go through to the map, which asks the layer which token is under
+ * the mouse.
+ *
+ * <p>A player token is drawn at the top of the room it is in, one place to the right
+ * for every player before it in the room. The target is drawn in the bottom right
+ * cell of its room, above the players.
+ *
+ * <p>Every change marks the old and new bounds of the tokens it touches as dirty, and
+ * the dirty region is painted once after the event that changed it, so all the moves
+ * of a turn are painted together and only where tokens were or are.
+ *
+ */
+public class TokenLayer extends JComponent {
+
+  private static final long serialVersionUID = -2318846520113794712L;
+  private static final int PLAYER_SIZE = 20;
+  private static final int TARGET_SIZE = 30;
+  // every room is shown
+  private static final int ALL_ROOMS = -1;
+
+  private final ReadOnlyWorld model;
+  private int numPlayers;
+  private int[] posXs;
+  private int[] posYs;
+  private int[] posInRooms;
+  // room of every player, found when it moves so showing a room looks nothing up
+  private int[] roomIds;
+  private int shownRoom;
+  private int targetRoom;
+  private final DirtyRegion dirty;
+  private boolean flushQueued;
+
+  /**
+   * Constructor of the token layer, with the target in the first room.
+   *
+   * @param model the read only model.
+   * @param width width of the map in pixels.
+   * @param height height of the map in pixels.
+   */
+  public TokenLayer(ReadOnlyWorld model, int width, int height) {
+    if (model == null || width < 0 || height < 0) {
+      throw new IllegalArgumentException("Invalid input.");
+    }
+    this.model = model;
+    this.posXs = new int[16];
+    this.posYs = new int[16];
+    this.posInRooms = new int[16];
+    this.roomIds = new int[16];
+    this.shownRoom = ALL_ROOMS;
+    this.targetRoom = 0;
+    this.dirty = new DirtyRegion();
+    this.setOpaque(false);
+    this.setBounds(0, 0, width, height);
+  }
+
+  /**
+   * Get the number of player tokens.
+   *
+   * @return the number of players.
+   */
+  public int getNumPlayers() {
+    return numPlayers;
+  }
+
+  /**
+   * Add the token of a player. Players are added in the order of their ids.
+   *
+   * @param id        - player id, the number of players added before.
+   * @param posX      - the column of the room of the player.
+   * @param posY      - the row of the room of the player.
+   * @param posInRoom - the player index in the room.
+   */
+  public void addPlayer(int id, int posX, int posY, int posInRoom) {
+    if (id != numPlayers || posX < 0 || posY < 0 || posInRoom < 0) {
+      throw new IllegalArgumentException("Invalid input.");
+    }
+    if (numPlayers == posXs.length) {
+      posXs = Arrays.copyOf(posXs, numPlayers * 2);
+      posYs = Arrays.copyOf(posYs, numPlayers * 2);
+      posInRooms = Arrays.copyOf(posInRooms, numPlayers * 2);
+      roomIds = Arrays.copyOf(roomIds, numPlayers * 2);
+    }
+    numPlayers++;
+    place(id, posX, posY, posInRoom);
+  }
+
+  /**
+   * Move the token of a player to another place.
+   *
+   * @param id        - player id.
+   * @param posX      - the column of the new room.
+   * @param posY      - the row of the new room.
+   * @param posInRoom - the player index in the new room.
+   */
+  public void movePlayer(int id, int posX, int posY, int posInRoom) {
+    checkId(id);
+    if (posX < 0 || posY < 0 || posInRoom < 0) {
+      throw new IllegalArgumentException("Position cannot be negitive.");
+    }
+    markDirty(playerBounds(id));
+    place(id, posX, posY, posInRoom);
+  }
+
+  /**
+   * Get the column of the room of a player.
+   *
+   * @param id - player id.
+   * @return the column position of player in the view.
+   */
+  public int getPosX(int id) {
+    checkId(id);
+    return posXs[id];
+  }
+
+  /**
+   * Get the row of the room of a player.
+   *
+   * @param id - player id.
+   * @return the row position of player in the view.
+   */
+  public int getPosY(int id) {
+    checkId(id);
+    return posYs[id];
+  }
+
+  /**
+   * Get the index of a player in its room.
+   *
+   * @param id - player id.
+   * @return the index of player in the room.
+   */
+  public int getPosInRoom(int id) {
+    checkId(id);
+    return posInRooms[id];
+  }
+
+  /**
+   * Set the index of a player in its room.
+   *
+   * @param id  - player id.
+   * @param pos - the index of player in the room.
+   */
+  public void setPosInRoom(int id, int pos) {
+    checkId(id);
+    if (pos < 0) {
+      throw new IllegalArgumentException("Position cannot be negitive.");
+    }
+    markDirty(playerBounds(id));
+    posInRooms[id] = pos;
+    markDirty(playerBounds(id));
+  }
+
+  /**
+   * Only show the players in a room, the target is always shown.
+   *
+   * @param roomId the room id.
+   */
+  public void showOnlyRoom(int roomId) {
+    if (roomId < 0) {
+      throw new IllegalArgumentException("Invalid input.");
+    }
+    if (roomId != shownRoom) {
+      // only the players of the old and the new room change
+      for (int id = 0; id < numPlayers; id++) {
+        if (shownRoom == ALL_ROOMS || roomIds[id] == shownRoom || roomIds[id] == roomId) {
+          markDirty(playerBounds(id));
+        }
+      }
+      shownRoom = roomId;
+    }
+  }
+
+  /**
+   * Move the target token to the room at the given position.
+   *
+   * @param posX - the column position in the room.
+   * @param posY - the row position in the room.
+   */
+  public void moveTarget(int posX, int posY) {
+    if (posX < 0 || posY < 0) {
+      throw new IllegalArgumentException("Invalid input.");
+    }
+    markDirty(targetBounds());
+    targetRoom = model.findRoomId(posX * 30 + 1, posY * 30 + 1);
+    markDirty(targetBounds());
+  }
+
+  /**
+   * Return the id of the shown player whose token is at a point of the map, the one
+   * on top if tokens overlap.
+   *
+   * @param x x position on the map.
+   * @param y y position on the map.
+   * @return the player id, or -1 if no shown player is there.
+   */
+  public int playerAt(int x, int y) {
+    for (int id = numPlayers - 1; id >= 0; id--) {
+      if (isShown(id) && playerBounds(id).contains(x, y)) {
+        return id;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Return whether the target token is at a point of the map.
+   *
+   * @param x x position on the map.
+   * @param y y position on the map.
+   * @return true if the target is there.
+   */
+  public boolean isTargetAt(int x, int y) {
+    return targetBounds().contains(x, y);
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    Rectangle clip = g.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, getWidth(), getHeight());
+    }
+    Graphics2D g2d = (Graphics2D) g.create();
+    g2d.setColor(Color.pink);
+    for (int id = 0; id < numPlayers; id++) {
+      int x = posXs[id] * 30 + (posInRooms[id] - 1) * PLAYER_SIZE;
+      int y = posYs[id] * 30 + 30;
+      if (isShown(id) && x < clip.x + clip.width && x + PLAYER_SIZE > clip.x
+          && y < clip.y + clip.height && y + PLAYER_SIZE > clip.y) {
+        g2d.fillOval(x, y, PLAYER_SIZE, PLAYER_SIZE);
+      }
+    }
+    Rectangle target = targetBounds();
+    if (target.intersects(clip)) {
+      int inset = (TARGET_SIZE - PLAYER_SIZE) / 2;
+      g2d.setColor(Color.cyan);
+      g2d.fillOval(target.x + inset, target.y + inset, PLAYER_SIZE, PLAYER_SIZE);
+    }
+    g2d.dispose();
+  }
+
+  /**
+   * Helper method to set the place of a player and paint it there.
+   */
+  private void place(int id, int posX, int posY, int posInRoom) {
+    posXs[id] = posX;
+    posYs[id] = posY;
+    posInRooms[id] = posInRoom;
+    roomIds[id] = model.findRoomId(posX * 30 + 1, posY * 30 + 1);
+    markDirty(playerBounds(id));
+  }
+
+  /**
+   * Helper method to add a rectangle to the dirty region, and paint the region once the
+   * current event is done.
+   */
+  private void markDirty(Rectangle rect) {
+    dirty.add(rect);
+    if (!flushQueued) {
+      flushQueued = true;
+      SwingUtilities.invokeLater(this::flush);
+    }
+  }
+
+  /**
+   * Helper method to paint the dirty region. Its rectangles are painted one by one, as
+   * repaint would merge them into their bounds.
+   */
+  private void flush() {
+    flushQueued = false;
+    for (Rectangle rect : dirty.take()) {
+      if (isShowing()) {
+        paintImmediately(rect);
+      }
+    }
+  }
+
+  private boolean isShown(int id) {
+    return shownRoom == ALL_ROOMS || roomIds[id] == shownRoom;
+  }
+
+  private Rectangle playerBounds(int id) {
+    return new Rectangle(posXs[id] * 30 + (posInRooms[id] - 1) * PLAYER_SIZE,
+        posYs[id] * 30 + 30, PLAYER_SIZE, PLAYER_SIZE);
+  }
+
+  private Rectangle targetBounds() {
+    Space room = model.getRoomList().get(targetRoom);
+    return new Rectangle(room.getDownCol() * 30 - TARGET_SIZE,
+        room.getDownRow() * 30 - TARGET_SIZE, TARGET_SIZE, TARGET_SIZE);
+  }
+
+  private void checkId(int id) {
+    if (id < 0 || id >= numPlayers) {
+      throw new IllegalArgumentException("Invalid player id.");
+    }
+  }
+
+}
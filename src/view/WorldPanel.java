@@ -2,10 +2,6 @@ package view;
 
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
@@ -23,9 +19,8 @@ public class WorldPanel extends JPanel {
 
   private static final long serialVersionUID = -8741230079664176369L;
   private JTextArea textWindow;
-  private BufferedImage map;
   private JLabel worldMap;
-  private List<PlayerButton> playerBtnList;
+  private TokenLayer tokens;
 
   /**
    * Constructor of the world panel.
@@ -47,16 +42,15 @@ public class WorldPanel extends JPanel {
     textWindow.setFont(new Font("MV Boli", Font.BOLD, 16));
     this.add(textWindow);
     this.setBackground(Color.gray);
-    map = model.getMap();
-    worldMap = new JLabel();
-    ImageIcon imageIcon = new ImageIcon(map);
-    worldMap.setIcon(imageIcon);
+    // tiles are drawn as the scroll pane shows them, the whole map is never drawn
+    worldMap = new TiledMapLabel(model.getMapTiles());
+    // all players and the target are painted by one layer over the map
+    tokens = new TokenLayer(model, model.getMapTiles().getWidth(),
+        model.getMapTiles().getHeight());
+    worldMap.add(tokens);
     JScrollPane js = new JScrollPane(worldMap);
     js.setBounds(300, 50, 850, 650);
     this.add(js);
-
-    // initial player list.
-    playerBtnList = new ArrayList<PlayerButton>();
   }
 
   /**
@@ -78,20 +72,16 @@ public class WorldPanel extends JPanel {
   }
 
   /**
-   * Get the list of player buttons in the panel.
+   * Get the layer painting the players and the target over the map.
    * 
-   * @return the copy of list of player button.
+   * @return the token layer.
    */
-  public List<PlayerButton> getPlayerBtnList() {
-    List<PlayerButton> copy = new ArrayList<>();
-    for (PlayerButton p : this.playerBtnList) {
-      copy.add(p);
-    }
-    return copy;
+  public TokenLayer getTokens() {
+    return tokens;
   }
 
   /**
-   * Add player button to the panel and refresh view.
+   * Add player token to the map.
    * 
    * @param id        - player id.
    * @param posX      - the column of player position.
@@ -102,8 +92,7 @@ public class WorldPanel extends JPanel {
     if (id < 0 || posX < 0 || posY < 0 || posInRoom < 0) {
       throw new IllegalArgumentException("Invalid input.");
     }
-    playerBtnList.add(new PlayerButton(id, posX, posY, posInRoom));
-    updatePlayerView();
+    tokens.addPlayer(id, posX, posY, posInRoom);
   }
 
   /**
@@ -117,22 +106,7 @@ public class WorldPanel extends JPanel {
     if (roomId < 0 || model == null) {
       throw new IllegalArgumentException("Invalid input.");
     }
-    for (PlayerButton pbt : playerBtnList) {
-      if (pbt.getRoomId(model) == roomId) {
-        pbt.makeVisible();
-      } else {
-        pbt.makeInvisible();
-      }
-    }
-  }
-
-  /**
-   * helper Method to display player on the map
-   */
-  private void updatePlayerView() {
-    for (PlayerButton player : playerBtnList) {
-      worldMap.add(player);
-    }
+    tokens.showOnlyRoom(roomId);
   }
 
   /**
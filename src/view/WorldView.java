@@ -31,7 +31,7 @@ public interface WorldView {
   void appendTextToWindow(String str);
 
   /**
-   * Add player button into the view by the given parameters.
+   * Add the token of a player into the view by the given parameters.
    * 
    * @param id        - player id.
    * @param posX      - the column position of player.
@@ -41,7 +41,7 @@ public interface WorldView {
   void addPlayerBtn(int id, int posX, int posY, int posInRoom);
 
   /**
-   * Update player button display on view.
+   * Update the token of a player on view.
    * 
    * @param id        - player id.
    * @param posX      - the column position of player.
@@ -51,7 +51,7 @@ public interface WorldView {
   void updatePlayerBtn(int id, int posX, int posY, int posInRoom);
 
   /**
-   * Update target button display on view.
+   * Update the token of the target on view.
    * 
    * @param x - the column position of target.
    * @param y - the row position of target.
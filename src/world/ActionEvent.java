@@ -0,0 +1,111 @@
+package world;
+
+/**
+ * The result of an action of the game, made of ids and values instead of text. It is
+ * cheap to build, so games played without a window pay nothing to describe what
+ * happened, the text is only built when BuildWorld.describe is called.
+ *
+ */
+public final class ActionEvent {
+
+  private final ActionType type;
+  private final ActionOutcome outcome;
+  private final int playerId;
+  private final int roomId;
+  private final Item item;
+  private final int targetHealth;
+
+  /**
+   * Constructs an event.
+   *
+   * @param type         the kind of action
+   * @param outcome      the outcome of the action
+   * @param playerId     id of the player who acted, -1 if no player acted
+   * @param roomId       id of the room the action happened in or moved to
+   * @param item         the item picked up or used, null if no item was used
+   * @param targetHealth health of the target after the action
+   * @throws IllegalArgumentException if type or outcome is null
+   */
+  ActionEvent(ActionType type, ActionOutcome outcome, int playerId, int roomId, Item item,
+      int targetHealth) {
+    if (type == null || outcome == null) {
+      throw new IllegalArgumentException("Type and outcome cannot be null.");
+    }
+    this.type = type;
+    this.outcome = outcome;
+    this.playerId = playerId;
+    this.roomId = roomId;
+    this.item = item;
+    this.targetHealth = targetHealth;
+  }
+
+  /**
+   * Return the kind of action.
+   *
+   * @return type of the action
+   */
+  public ActionType getType() {
+    return type;
+  }
+
+  /**
+   * Return the outcome of the action.
+   *
+   * @return outcome of the action
+   */
+  public ActionOutcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * Return whether the action was done, which for an attack or a poke means the target
+   * was hurt.
+   *
+   * @return true if the action was done
+   */
+  public boolean isDone() {
+    return outcome == ActionOutcome.DONE;
+  }
+
+  /**
+   * Return the id of the player who acted.
+   *
+   * @return id of the player, -1 for the moves of the target and the pet
+   */
+  public int getPlayerId() {
+    return playerId;
+  }
+
+  /**
+   * Return the id of the room the action happened in, or the room moved to for a move.
+   *
+   * @return id of the room
+   */
+  public int getRoomId() {
+    return roomId;
+  }
+
+  /**
+   * Return the item picked up or used in an attack.
+   *
+   * @return the item, null if no item was used
+   */
+  public Item getItem() {
+    return item;
+  }
+
+  /**
+   * Return the health of the target right after the action.
+   *
+   * @return health of the target
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + outcome + " player " + playerId + " room " + roomId;
+  }
+
+}
@@ -0,0 +1,195 @@
+package world;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only binary journal of the actions of a game. A game attached to a journal
+ * appends every action that changes its state: players joining, moves, picks,
+ * attacks, pokes, moves of the pet and target, new turns and changes of the max turn.
+ * A record is an operation code byte followed by its arguments as unsigned varints,
+ * most records take two or three bytes. Records are gathered in a buffer and written
+ * to the file channel when the buffer is full, on flush and on close.
+ *
+ * <p>JournalReplayer rebuilds the game from the WorldSpec and the journal.
+ *
+ */
+public final class ActionJournal implements Closeable {
+
+  static final int MAGIC = 0x444c4a31;
+  static final int START = 0;
+  static final int ADD_PLAYER = 1;
+  static final int MOVE = 2;
+  static final int PICK_ITEM = 3;
+  static final int ATTACK = 4;
+  static final int POKE = 5;
+  static final int MOVE_PET = 6;
+  static final int MOVE_TARGET = 7;
+  static final int NEXT_TURN = 8;
+  static final int SET_MAX_TURN = 9;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  // an operation code and up to three varints of five bytes
+  private static final int MAX_RECORD = 16;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+  private long bytesWritten;
+
+  /**
+   * Constructs a journal writing to a new file, an existing file is replaced.
+   *
+   * @param filePath path of the journal file
+   * @throws IllegalArgumentException if file path is null or the file cannot be opened
+   */
+  public ActionJournal(String filePath) {
+    if (filePath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    try {
+      channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to open journal file.");
+    }
+    buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    buffer.putInt(MAGIC);
+  }
+
+  /**
+   * Return the number of bytes of the journal, including the ones not written yet.
+   *
+   * @return size of the journal in bytes
+   */
+  public long size() {
+    return bytesWritten + buffer.position();
+  }
+
+  /**
+   * Write the buffered records to the file.
+   *
+   * @throws IllegalStateException if the file cannot be written
+   */
+  public void flush() {
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        bytesWritten += channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to write journal file.");
+    } finally {
+      buffer.clear();
+    }
+  }
+
+  /**
+   * Write the buffered records and close the file.
+   *
+   * @throws IllegalStateException if the file cannot be written
+   */
+  @Override
+  public void close() {
+    try {
+      flush();
+    } finally {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to close journal file.");
+      }
+    }
+  }
+
+  void start(int maxTurn) {
+    record(START, maxTurn);
+  }
+
+  void addPlayer(String name, int id, boolean isHuman, int bagCapacity, int roomId) {
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    if (buffer.remaining() < MAX_RECORD + 10 + bytes.length) {
+      flush();
+    }
+    if (buffer.remaining() < MAX_RECORD + 10 + bytes.length) {
+      throw new IllegalArgumentException("Name is too long.");
+    }
+    buffer.put((byte) ADD_PLAYER);
+    putVarint(id);
+    buffer.put((byte) (isHuman ? 1 : 0));
+    putVarint(bagCapacity);
+    putVarint(roomId);
+    putVarint(bytes.length);
+    buffer.put(bytes);
+  }
+
+  void move(int playerId, int roomId) {
+    record(MOVE, playerId, roomId);
+  }
+
+  void pickItem(int playerId, int itemId) {
+    record(PICK_ITEM, playerId, itemId);
+  }
+
+  void attack(int playerId, int itemId) {
+    record(ATTACK, playerId, itemId);
+  }
+
+  void poke(int playerId) {
+    record(POKE, playerId);
+  }
+
+  void movePet(int roomId) {
+    record(MOVE_PET, roomId);
+  }
+
+  void moveTarget() {
+    ensureRoom();
+    buffer.put((byte) MOVE_TARGET);
+  }
+
+  void nextTurn() {
+    ensureRoom();
+    buffer.put((byte) NEXT_TURN);
+  }
+
+  void setMaxTurn(int max) {
+    record(SET_MAX_TURN, max);
+  }
+
+  private void record(int code, int arg) {
+    ensureRoom();
+    buffer.put((byte) code);
+    putVarint(arg);
+  }
+
+  private void record(int code, int first, int second) {
+    ensureRoom();
+    buffer.put((byte) code);
+    putVarint(first);
+    putVarint(second);
+  }
+
+  private void ensureRoom() {
+    if (buffer.remaining() < MAX_RECORD) {
+      flush();
+    }
+  }
+
+  /**
+   * Helper method to append a non-negative int with 7 bits per byte, the high bit of
+   * a byte is set when more bytes follow.
+   */
+  private void putVarint(int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+}
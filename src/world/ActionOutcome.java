@@ -0,0 +1,10 @@
+package world;
+
+/**
+ * The outcome of an action. Only an attempt on target's life can fail, every other
+ * action is either done or rejected with an exception.
+ *
+ */
+public enum ActionOutcome {
+  DONE, TARGET_NOT_IN_ROOM, SEEN_BY_OTHERS
+}
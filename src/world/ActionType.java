@@ -0,0 +1,9 @@
+package world;
+
+/**
+ * The kinds of actions that change or look at the state of a game.
+ *
+ */
+public enum ActionType {
+  MOVE, PICK_ITEM, LOOK_AROUND, ATTACK, POKE, MOVE_PET, MOVE_TARGET
+}
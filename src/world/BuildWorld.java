@@ -1,8 +1,10 @@
 package world;
 
-import java.awt.image.BufferedImage;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * An interface for BuildWorld model, with methods corresponding to the commands in controller
@@ -12,7 +14,8 @@ import java.util.Random;
 public interface BuildWorld {
   
   /**
-   * Return the entire list of rooms of the world.
+   * Return the entire list of rooms of the world. The list is a read only view of
+   * the world, it is not copied on every call.
    * 
    * @return the list of rooms of the world
    */
@@ -73,7 +76,8 @@ public interface BuildWorld {
 
   /**
    * Return the list of the players of the world, list order depends on the order 
-   * in which the player joins the world.
+   * in which the player joins the world. The list is a read only view that follows
+   * the players added later.
    * 
    * @return the list of players
    */
@@ -87,9 +91,24 @@ public interface BuildWorld {
   int getMaxTurn();
 
   /**
-   * Generate the graphical representation of the world.
+   * Generate the graphical representation of the world in worldBufferedImage.png. The
+   * picture is copied from the map cache, where the map is encoded the first time it
+   * is asked for, all on a background thread, so the caller never waits on encoding.
+   * 
+   * @return a future completed with the path of the picture, completed with an
+   *         IllegalArgumentException if the map is too large to be encoded, or
+   *         completed with an IllegalStateException if it cannot be written
+   */
+  CompletableFuture<Path> generateMap();
+
+  /**
+   * Set the cache generateMap copies the map from. By default it is the .mapcache
+   * directory of the working directory, keeping MapCache.MAX_MAPS maps.
+   * 
+   * @param cache the map cache
+   * @throws IllegalArgumentException if cache is null
    */
-  void generateMap();
+  void setMapCache(MapCache cache);
 
   /**
    * Return the player of current game turn that are going to take an action.
@@ -108,7 +127,8 @@ public interface BuildWorld {
   Space getLocation(Player player);
   
   /**
-   * Return the list of the items in a specific room.
+   * Return the list of the items in a specific room, as a read only view that
+   * follows items picked up later.
    * 
    * @param id the id of the room that list belongs to
    * @return the item list of the room
@@ -117,7 +137,7 @@ public interface BuildWorld {
   List<Item> getItemInRoom(int id);
   
   /**
-   * Return the neighbor list of a specific room.
+   * Return the neighbor list of a specific room, as a read only view.
    * 
    * @param id the id of room that list belongs to
    * @return the neighbor list of the room
@@ -165,6 +185,32 @@ public interface BuildWorld {
    */
   int randomNum(int max, Random random);
   
+  /**
+   * Generate a random number from 0 to max (not including max) from the random
+   * stream of the game, which makes every random choice of the game.
+   * 
+   * @param max the upper limit of the random number
+   * @return a random number from 0 to max (not including max)
+   * @throws IllegalArgumentException if max is not positive
+   */
+  int randomNum(int max);
+  
+  /**
+   * Restart the random stream of the game from a seed, the same seed and the same
+   * actions then play the same game.
+   * 
+   * @param seed seed of the random stream
+   */
+  void setSeed(long seed);
+  
+  /**
+   * Split a new random stream off the stream of the game, independent of it and of
+   * the other split streams, for a worker thread to use.
+   * 
+   * @return a new random stream
+   */
+  SplittableRandom splitRandom();
+  
   /**
    * Make the player(whose id is playerId) to make an attempt to attack target with item,
    * the index of item is itemId in player's item list. The attack will be successful if 
@@ -257,11 +303,12 @@ public interface BuildWorld {
   String computerCommand(int playerId);
 
   /**
-   * Return the map in form of bufferedImage.
+   * Return the tiles of the map, drawn when they are first needed and kept in a cache
+   * of bounded size.
    * 
-   * @return the map in bufferedImage
+   * @return the tiles of the map
    */
-  BufferedImage getMap();
+  MapTiles getMapTiles();
 
   /**
    * This method to find room id by x and y.
@@ -310,6 +357,21 @@ public interface BuildWorld {
    */
   void setMaxTurn(int max);
   
+  /**
+   * Return the neighbors of all rooms as a graph that can be read without allocation.
+   * 
+   * @return the graph of the rooms
+   */
+  RoomGraph getRoomGraph();
+  
+  /**
+   * Return the specification of the world this game is played in, new games of the
+   * same world can be built from it.
+   * 
+   * @return the specification of the world
+   */
+  WorldSpec getSpec();
+  
   /**
    * Return the path of the file.
    * 
@@ -325,5 +387,160 @@ public interface BuildWorld {
    * @throws IllegalArgumentException if playerId is invalid
    */
   Space findRoomByPlayerId(int playerId);
+  
+  /**
+   * Move the player(whose id is playerId) to the target room (whose id is roomId), the
+   * same as move but without building any text.
+   * 
+   * @param playerId the id of the player who's going to move
+   * @param roomId id of target room
+   * @return the event of the move
+   * @throws IllegalArgumentException if player or room id is invalid or room is not a
+   *                                  neighbor
+   */
+  ActionEvent doMove(int playerId, int roomId);
+  
+  /**
+   * Take a copy of the state of the game: rooms and bags of the players, items in the
+   * rooms, health and room of the target, room of the pet and the turn. The cost is
+   * proportional to the number of players, items and rooms.
+   * 
+   * @return the state of the game
+   */
+  GameState snapshot();
+  
+  /**
+   * Return the number of moves of a shortest path between two rooms, in constant
+   * time once the distances of the world are computed.
+   * 
+   * @param fromRoomId id of the room to start from
+   * @param toRoomId id of the room to reach
+   * @return the number of moves, -1 if the room cannot be reached
+   * @throws IllegalArgumentException if a room id does not exist
+   */
+  int distance(int fromRoomId, int toRoomId);
+  
+  /**
+   * Return the neighbor to move to from a room to get one move closer to another room.
+   * 
+   * @param fromRoomId id of the room to start from
+   * @param toRoomId id of the room to reach
+   * @return id of the neighbor, fromRoomId if both rooms are the same, -1 if the room
+   *         cannot be reached
+   * @throws IllegalArgumentException if a room id does not exist
+   */
+  int nextHop(int fromRoomId, int toRoomId);
+  
+  /**
+   * Return how many turns from now the target will be in a room. The target moves to
+   * the room with the next id at the end of every turn, so the answer is known in
+   * constant time. Like targetRoomAtTurn, only turns up to the max turn are counted.
+   * 
+   * @param roomId id of the room
+   * @return number of turns, 0 if the target is in the room now, -1 if the game ends
+   *         before the target reaches the room
+   * @throws IllegalArgumentException if room id does not exist
+   */
+  int turnsUntilTargetReaches(int roomId);
+  
+  /**
+   * Return the room the target will be in during a turn, in constant time.
+   * 
+   * @param turn a turn between the current turn and the max turn
+   * @return id of the room of the target in that turn
+   * @throws IllegalArgumentException if turn is before the current turn or after the
+   *                                  max turn
+   */
+  int targetRoomAtTurn(int turn);
+  
+  /**
+   * Put the game back in a state taken by snapshot from this game or from another
+   * game of the same world. A game with no player gets the players of the state.
+   * 
+   * @param state the state to restore
+   * @throws IllegalArgumentException if state is null, has a different number of
+   *                                  players or has rooms that do not exist
+   * @throws IllegalStateException    if the game is recorded in a journal
+   */
+  void restore(GameState state);
+  
+  /**
+   * Record every action that changes the state of the game from now on in a journal,
+   * which JournalReplayer can replay. A journaled game cannot be restored to a
+   * snapshot.
+   * 
+   * @param journal the journal to append to, null to stop recording
+   * @throws IllegalArgumentException if players joined or the first turn is over
+   */
+  void setJournal(ActionJournal journal);
+  
+  /**
+   * Pick up an item in current room, the same as pickItem but without building any
+   * text.
+   * 
+   * @param playerId the id of the player who picks up item
+   * @param itemId the index of the item in current room
+   * @return the event of the pick, which holds the item
+   * @throws IllegalArgumentException if player or item id is invalid or bag is full
+   */
+  ActionEvent doPickItem(int playerId, int itemId);
+  
+  /**
+   * Look around from the room of a player, the same as lookAround but without
+   * building any text.
+   * 
+   * @param playerId the id of the player looking around
+   * @return the event of the look
+   * @throws IllegalArgumentException if player id is invalid
+   */
+  ActionEvent doLookAround(int playerId);
+  
+  /**
+   * Make an attempt on target's life with an item, the same as attackTarget but
+   * without building any text.
+   * 
+   * @param playerId the id of the player making the attempt
+   * @param itemId the index of the item in player's bag
+   * @return the event of the attack, its outcome tells whether the target was hurt
+   * @throws IllegalArgumentException if player or item id is invalid
+   */
+  ActionEvent doAttackTarget(int playerId, int itemId);
+  
+  /**
+   * Poke target in eyes, the same as pokeTarget but without building any text.
+   * 
+   * @param playerId the id of the player making the attempt
+   * @return the event of the poke, its outcome tells whether the target was hurt
+   * @throws IllegalArgumentException if player id is invalid
+   */
+  ActionEvent doPokeTarget(int playerId);
+  
+  /**
+   * Move the pet to a room, the same as movePet but without building any text.
+   * 
+   * @param roomId the room to move the pet to
+   * @return the event of the move
+   * @throws IllegalArgumentException if room id is invalid
+   */
+  ActionEvent doMovePet(int roomId);
+  
+  /**
+   * Move the target to next room in the list, the same as moveTarget but without
+   * building any text.
+   * 
+   * @return the event of the move
+   */
+  ActionEvent doMoveTarget();
+  
+  /**
+   * Return the text the view shows for an event of this game. Looking around is
+   * described from the current state of the game, so it should be described before
+   * the next action.
+   * 
+   * @param event an event returned by this game
+   * @return String that records the action
+   * @throws IllegalArgumentException if event is null
+   */
+  String describe(ActionEvent event);
 
 }
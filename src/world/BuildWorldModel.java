@@ -1,21 +1,14 @@
 package world;
 
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Font;
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.Stack;
-import javax.imageio.ImageIO;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Build the world of the Kill Doctor Lucky game.
@@ -23,8 +16,15 @@ import javax.imageio.ImageIO;
  */
 public class BuildWorldModel implements BuildWorld {
 
-  private BufferedImage image;
-  private Graphics2D g2d;
+  // commands of a computer player that is not next to the target, pick comes last
+  private static final String[] COMMANDS = {"look", "move", "pick"};
+  // encoded maps kept between runs, so a world loaded again is not encoded again
+  private static final MapCache MAP_CACHE = new MapCache(".mapcache", MapCache.MAX_MAPS);
+
+  private final WorldSpec spec;
+  private MapCache mapCache;
+  private RoomDistances distances;
+  private final RoomGraph graph;
 
   private int mapRow;
   private int mapCol;
@@ -32,9 +32,18 @@ public class BuildWorldModel implements BuildWorld {
   private int numWeapons;
   private String petName;
 
-  private Room tempRoom;
   private List<Room> roomList;
   private List<Player> playerList;
+  private List<Space> roomView;
+  private List<Player> playerView;
+  // number of players in every room, and in all neighbors of every room
+  private int[] occupancy;
+  private int[] neighborOccupancy;
+  // players of the game as saved in snapshots, shared by snapshots until a player joins
+  private int[] rosterIds;
+  private String[] rosterNames;
+  private boolean[] rosterIsHuman;
+  private int[] rosterBagCapacities;
 
   private String targetName;
   private int targetHealth;
@@ -43,10 +52,14 @@ public class BuildWorldModel implements BuildWorld {
   private int maxTurn;
   private int turn;
   private String filePath;
+  private SplittableRandom random;
+  private ActionJournal journal;
 
   /**
    * Constructs a BuildWorld object and build the world in terms of a String array
-   * of arguments that's associated with the path of mansion text file.
+   * of arguments that's associated with the path of mansion text file. The map is
+   * not drawn, the view draws the tiles it shows and generateMap writes the whole
+   * picture from the map cache.
    * 
    * @param args command line argument that shows path of mansion.txt and the
    *             number of turns
@@ -54,175 +67,101 @@ public class BuildWorldModel implements BuildWorld {
    * @throws IllegalArgumentException if any argument is invalid
    */
   public BuildWorldModel(String[] args) {
+    this(WorldSpec.fromFile(checkArgs(args)[0]), Integer.parseInt(args[1]));
+  }
 
-    if (args.length < 2) {
-      throw new IllegalArgumentException("Invalid arguments");
-    }
-    FileInputStream f;
-    try {
-      filePath = args[0];
-      f = new FileInputStream(filePath);
-      maxTurn = Integer.parseInt(args[1]);
-      roomList = new ArrayList<>();
-      playerList = new ArrayList<>();
-
-      InputStreamReader reader = new InputStreamReader(f);
-      BufferedReader br = new BufferedReader(reader);
-
-      String temp = "";
-      temp = br.readLine();
-      String[] splitStr = temp.split("\\s+");
-
-      // map row and column
-      mapRow = Integer.parseInt(splitStr[0]) * 30;
-      mapCol = Integer.parseInt(splitStr[1]) * 30;
-
-      image = new BufferedImage(mapCol, mapRow, BufferedImage.TYPE_INT_ARGB);
-      g2d = (Graphics2D) image.getGraphics();
-      g2d.setPaint(Color.lightGray);
-      g2d.fillRect(0, 0, mapCol, mapRow);
-
-      // doctor health and name
-      temp = br.readLine();
-      splitStr = temp.split("\\s+");
-      targetHealth = Integer.parseInt(splitStr[0]);
-      StringBuilder targetNamebd = new StringBuilder();
-      for (int m = 1; m < splitStr.length; m++) {
-        targetNamebd.append(splitStr[m]);
-        if (m != splitStr.length - 1) {
-          targetNamebd.append(" ");
-        }
-      }
-      targetName = targetNamebd.toString();
-
-      // pet name
-      petName = br.readLine();
-      pet = new TargetPet(petName);
-
-      // number of rooms
-      numRoom = Integer.parseInt(br.readLine());
-
-      // generate target character
-      targetCharacter = new TargetCharacter(targetName, targetHealth, numRoom);
-
-      // room generated
-      for (int i = 0; i < numRoom; i++) {
-        temp = br.readLine().trim();
-        splitStr = temp.split("\\s+");
-        int ur = Integer.parseInt(splitStr[0]);
-        int uc = Integer.parseInt(splitStr[1]);
-        int dr = Integer.parseInt(splitStr[2]);
-        int dc = Integer.parseInt(splitStr[3]);
-
-        if (ur > mapRow || dr > mapRow || uc > mapCol || dc > mapCol) {
-          throw new IllegalArgumentException("Room cannot exceed the range of map.");
-        }
-
-        StringBuilder name = new StringBuilder();
-        for (int m = 4; m < splitStr.length; m++) {
-          name.append(splitStr[m]);
-          if (m != splitStr.length - 1) {
-            name.append(" ");
-          }
-        }
-        String nameInString = name.toString();
-
-        // generate room objects
-        tempRoom = new Room(nameInString, i, ur, uc, dr, dc);
-
-        g2d = (Graphics2D) image.getGraphics();
-        g2d.setPaint(Color.darkGray);
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawRect(uc * 30, ur * 30, (dc - uc) * 30, (dr - ur) * 30);
-        g2d.setPaint(Color.gray);
-        g2d.fillRect(uc * 30, ur * 30, (dc - uc) * 30, (dr - ur) * 30);
-
-        // add text
-        Font font = new Font("MV Boli", Font.BOLD, 16);
-        g2d.setPaint(Color.white);
-        g2d.setFont(font);
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.drawString(nameInString, uc * 30 + 5, ur * 30 + 20);
-        roomList.add(tempRoom);
-
-        turn = 1;
-      }
-
-      testOverlappedRoom();
-
-      // create map picture
-      generateMap();
-
-      // find neighbors
-      findNeighbors();
-
-      // read for items
-      temp = br.readLine();
-      numWeapons = Integer.parseInt(temp);
-      for (int i = 0; i < numWeapons; i++) {
-        temp = br.readLine();
-        splitStr = temp.split("\\s+");
-        int roomId = Integer.parseInt(splitStr[0]);
-        int power = Integer.parseInt(splitStr[1]);
-        StringBuilder weaponNamebd = new StringBuilder();
-        for (int j = 2; j < splitStr.length; j++) {
-          weaponNamebd.append(splitStr[j]);
-          if (j != splitStr.length - 1) {
-            weaponNamebd.append(" ");
-          }
-        }
-        Item weaponItem = new Weapon(weaponNamebd.toString(), power);
-        roomList.get(roomId).addItem(weaponItem);
-      }
-      br.close();
-    } catch (IOException e) {
-      throw new IllegalArgumentException("Unable to read file content.");
-    }
+  /**
+   * Constructs a new game of a world specification that was already read and
+   * validated. No file is read and the map is not drawn, so many games can be built
+   * quickly from the same specification. The random choices of the game are not
+   * seeded.
+   * 
+   * @param spec    the specification of the world
+   * @param maxTurn the number of turns
+   * @throws IllegalArgumentException if spec is null
+   */
+  public BuildWorldModel(WorldSpec spec, int maxTurn) {
+    this(spec, maxTurn, new SplittableRandom());
   }
 
-  @Override
-  public void generateMap() {
-    try {
-      ImageIO.write(image, "png", new File("worldBufferedImage.png"));
-    } catch (IOException e) {
-      throw new IllegalArgumentException("Unable to read file content.");
-    }
+  /**
+   * Constructs a new game of a world specification whose random choices all come
+   * from a stream seeded with the given seed, so the same seed plays the same game.
+   * 
+   * @param spec    the specification of the world
+   * @param maxTurn the number of turns
+   * @param seed    seed of the random choices of the game
+   * @throws IllegalArgumentException if spec is null
+   */
+  public BuildWorldModel(WorldSpec spec, int maxTurn, long seed) {
+    this(spec, maxTurn, new SplittableRandom(seed));
   }
 
-  private void testOverlappedRoom() {
+  private BuildWorldModel(WorldSpec spec, int maxTurn, SplittableRandom random) {
+    if (spec == null) {
+      throw new IllegalArgumentException("World specification cannot be null.");
+    }
+    this.spec = spec;
+    this.mapCache = MAP_CACHE;
+    this.random = random;
+    this.graph = spec.getRoomGraph();
+    this.filePath = spec.getFilePath();
+    this.maxTurn = maxTurn;
+    mapRow = spec.getRows() * 30;
+    mapCol = spec.getCols() * 30;
+    targetHealth = spec.getTargetHealth();
+    targetName = spec.getTargetName();
+    petName = spec.getPetName();
+    pet = new TargetPet(petName);
+    numRoom = spec.getNumRoom();
+    targetCharacter = new TargetCharacter(targetName, targetHealth, numRoom);
+    roomList = new ArrayList<>(numRoom);
+    playerList = new ArrayList<>();
     for (int i = 0; i < numRoom; i++) {
-      for (int j = 0; j < numRoom; j++) {
-        if (i != j) {
-          Space temp1 = roomList.get(i);
-          Space temp2 = roomList.get(j);
-          if (isOverlapped(temp1, temp2)) {
-            throw new IllegalArgumentException("Rooms cannot overlap with" + "each other.");
-          }
-
-        }
+      roomList.add(spec.newRoom(i));
+    }
+    occupancy = new int[numRoom];
+    neighborOccupancy = new int[numRoom];
+    roomView = Collections.unmodifiableList(roomList);
+    playerView = Collections.unmodifiableList(playerList);
+    for (int i = 0; i < numRoom; i++) {
+      for (int j = 0; j < graph.degree(i); j++) {
+        roomList.get(i).addNeighbor(roomList.get(graph.neighbor(i, j)));
       }
     }
-
+    numWeapons = spec.getNumItems();
+    for (int i = 0; i < numWeapons; i++) {
+      roomList.get(spec.getItemRoomId(i)).addItem(spec.getItem(i));
+    }
+    turn = 1;
   }
 
-  private boolean isOverlapped(Space room1, Space room2) {
-    if (room1 == null || room2 == null) {
-      throw new IllegalArgumentException("Room cannot be null.");
+  /**
+   * Helper method to check that arguments have both the path and the max turn.
+   * 
+   * @param args command line argument that shows path of mansion.txt and the
+   *             number of turns
+   * @return the same arguments
+   * @throws IllegalArgumentException if arguments are missing
+   */
+  private static String[] checkArgs(String[] args) {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("Invalid arguments");
     }
-    int uc1 = room1.getUpCol();
-    int uc2 = room2.getUpCol();
-    int ur1 = room1.getUpRow();
-    int ur2 = room2.getUpRow();
-    int dc1 = room1.getDownCol();
-    int dc2 = room2.getDownCol();
-    int dr1 = room1.getDownRow();
-    int dr2 = room2.getDownRow();
+    return args;
+  }
 
-    if ((dr1 > ur2 && dc1 > uc2 && ur1 < dr2 && uc1 < dc2)
-        || (dr1 == dr2 && dc1 == dc2 && ur1 == ur2 && uc1 == uc2)) {
-      return true;
+  @Override
+  public void setMapCache(MapCache cache) {
+    if (cache == null) {
+      throw new IllegalArgumentException("Map cache cannot be null.");
     }
-    return false;
+    this.mapCache = cache;
+  }
+
+  @Override
+  public CompletableFuture<Path> generateMap() {
+    return mapCache.export(spec, "worldBufferedImage.png");
   }
 
   /**
@@ -232,32 +171,12 @@ public class BuildWorldModel implements BuildWorld {
    */
   @Override
   public List<Space> getRoomList() {
-    List<Space> tempList = new ArrayList<>();
-    for (int i = 0; i < roomList.size(); i++) {
-      tempList.add(roomList.get(i));
-    }
-    return tempList;
-  }
-
-  private void findNeighbors() {
-    for (int i = 0; i < roomList.size(); i++) {
-      for (int j = 0; j < roomList.size(); j++) {
-        if (i == j) {
-          continue;
-        } else {
-          roomList.get(i).isNeighbor(roomList.get(j));
-        }
-      }
-    }
+    return roomView;
   }
 
   @Override
   public List<Player> getPlayerList() {
-    List<Player> temp = new ArrayList<>();
-    for (int i = 0; i < playerList.size(); i++) {
-      temp.add(playerList.get(i));
-    }
-    return temp;
+    return playerView;
   }
 
   @Override
@@ -286,11 +205,7 @@ public class BuildWorldModel implements BuildWorld {
     if (id < 0 || id > roomList.size() - 1) {
       throw new IllegalArgumentException("Room id does not exist.");
     }
-    List<Item> temp = new ArrayList<>();
-    for (int i = 0; i < roomList.get(id).getItems().size(); i++) {
-      temp.add(roomList.get(id).getItems().get(i));
-    }
-    return temp;
+    return roomList.get(id).getItems();
   }
 
   @Override
@@ -298,11 +213,7 @@ public class BuildWorldModel implements BuildWorld {
     if (id < 0 || id > roomList.size() - 1) {
       throw new IllegalArgumentException("Room id does not exist.");
     }
-    List<Space> temp = new ArrayList<>();
-    for (int i = 0; i < roomList.get(id).getNeighbors().size(); i++) {
-      temp.add(roomList.get(id).getNeighbors().get(i));
-    }
-    return temp;
+    return roomList.get(id).getNeighbors();
   }
 
   @Override
@@ -310,17 +221,20 @@ public class BuildWorldModel implements BuildWorld {
     if (x < 0 || x > mapCol || y < 0 || y > mapRow) {
       throw new IllegalArgumentException("Room id does not exist.");
     }
-    for (Room room : roomList) {
-      if (room.getUpCol() * 30 <= x && room.getDownCol() * 30 >= x && room.getUpRow() * 30 <= y
-          && room.getDownRow() * 30 >= y) {
-        return room.getId();
-      }
+    int roomId = spec.findRoomId(x, y);
+    if (roomId < 0) {
+      throw new IllegalArgumentException("Room id does not exist1.");
     }
-    throw new IllegalArgumentException("Room id does not exist1.");
+    return roomId;
   }
 
   @Override
   public String move(int playerId, int roomId) {
+    return describe(doMove(playerId, roomId));
+  }
+
+  @Override
+  public ActionEvent doMove(int playerId, int roomId) {
     if (playerId < 0 || playerId > playerList.size() - 1) {
       throw new IllegalArgumentException("Invalid player id.");
     }
@@ -329,17 +243,17 @@ public class BuildWorldModel implements BuildWorld {
     }
     Player player = playerList.get(playerId);
     int previousRoomId = player.getCurrentRoomId();
-    if (roomList.get(previousRoomId).getNeighbors().contains(roomList.get(roomId))) {
+    if (graph.isNeighbor(previousRoomId, roomId)) {
       roomList.get(previousRoomId).removePlayer(player);
+      updateOccupancy(previousRoomId, -1);
       player.move(roomId);
       roomList.get(roomId).addPlayer(player);
-
-      StringBuilder out = new StringBuilder();
-      out.append(player.getName());
-      out.append(" moves to ");
-      out.append(roomList.get(roomId).getName());
-      out.append("\n");
-      return out.toString();
+      updateOccupancy(roomId, 1);
+      if (journal != null) {
+        journal.move(playerId, roomId);
+      }
+      return new ActionEvent(ActionType.MOVE, ActionOutcome.DONE, playerId, roomId, null,
+          targetCharacter.getHealth());
     } else {
       throw new IllegalArgumentException("Room selected is not a neighbor.");
     }
@@ -347,6 +261,11 @@ public class BuildWorldModel implements BuildWorld {
 
   @Override
   public String pickItem(int playerId, int itemId) {
+    return describe(doPickItem(playerId, itemId));
+  }
+
+  @Override
+  public ActionEvent doPickItem(int playerId, int itemId) {
     // Validate parameter playerId
     if (playerId < 0 || playerId > playerList.size() - 1) {
       throw new IllegalArgumentException("Invalid player id.");
@@ -366,10 +285,11 @@ public class BuildWorldModel implements BuildWorld {
     Item item = getItemInRoom(room.getId()).get(itemId);
     room.removeItem(item);
     player.pickItem(item);
-    StringBuilder str = new StringBuilder();
-    str.append(player.getName());
-    str.append(" picks up ").append(item.getName()).append("\n");
-    return str.toString();
+    if (journal != null) {
+      journal.pickItem(playerId, itemId);
+    }
+    return new ActionEvent(ActionType.PICK_ITEM, ActionOutcome.DONE, playerId, room.getId(),
+        item, targetCharacter.getHealth());
   }
 
   @Override
@@ -398,15 +318,246 @@ public class BuildWorldModel implements BuildWorld {
     Player player = new PlayerCharacter(name, id, isHuman, bagCapacity, roomId);
     playerList.add(player);
     roomList.get(roomId).addPlayer(player);
+    updateOccupancy(roomId, 1);
+    rosterIds = null;
+    if (journal != null) {
+      journal.addPlayer(name, id, isHuman, bagCapacity, roomId);
+    }
+  }
+
+  @Override
+  public void setJournal(ActionJournal journal) {
+    if (journal != null && (!playerList.isEmpty() || turn != 1)) {
+      throw new IllegalArgumentException("Journal must be set before the game starts.");
+    }
+    this.journal = journal;
+    if (journal != null) {
+      journal.start(maxTurn);
+    }
+  }
+
+  @Override
+  public int distance(int fromRoomId, int toRoomId) {
+    return getDistances().distance(fromRoomId, toRoomId);
+  }
+
+  @Override
+  public int nextHop(int fromRoomId, int toRoomId) {
+    return getDistances().nextHop(fromRoomId, toRoomId);
+  }
+
+  @Override
+  public int turnsUntilTargetReaches(int roomId) {
+    if (roomId < 0 || roomId >= numRoom) {
+      throw new IllegalArgumentException("Room id does not exist.");
+    }
+    // the target walks the rooms in order of id and wraps around after the last room
+    int turns = roomId - targetCharacter.getCurrentRoomId();
+    if (turns < 0) {
+      turns += numRoom;
+    }
+    return (long) turn + turns > maxTurn ? -1 : turns;
+  }
+
+  @Override
+  public int targetRoomAtTurn(int turn) {
+    if (turn < this.turn || turn > maxTurn) {
+      throw new IllegalArgumentException("Turn has to be between current turn and max turn.");
+    }
+    return (int) ((targetCharacter.getCurrentRoomId() + (long) (turn - this.turn)) % numRoom);
+  }
+
+  /**
+   * Helper method to get the distances of the world, which are only computed when a
+   * game first needs them.
+   */
+  private RoomDistances getDistances() {
+    if (distances == null) {
+      distances = spec.getRoomDistances();
+    }
+    return distances;
+  }
+
+  @Override
+  public GameState snapshot() {
+    int numPlayers = playerList.size();
+    if (rosterIds == null) {
+      rosterNames = new String[numPlayers];
+      rosterIsHuman = new boolean[numPlayers];
+      rosterBagCapacities = new int[numPlayers];
+      int[] ids = new int[numPlayers];
+      for (int i = 0; i < numPlayers; i++) {
+        Player player = playerList.get(i);
+        ids[i] = player.getId();
+        rosterNames[i] = player.getName();
+        rosterIsHuman[i] = player.getIsHuman();
+        rosterBagCapacities[i] = player.getBagCapacity();
+      }
+      rosterIds = ids;
+    }
+    int[] playerRoomIds = new int[numPlayers];
+    int[] bagEnds = new int[numPlayers];
+    int numBagItems = 0;
+    for (int i = 0; i < numPlayers; i++) {
+      Player player = playerList.get(i);
+      playerRoomIds[i] = player.getCurrentRoomId();
+      numBagItems += player.getItemList().size();
+      bagEnds[i] = numBagItems;
+    }
+    Item[] bagItems = new Item[numBagItems];
+    int k = 0;
+    for (int i = 0; i < numPlayers; i++) {
+      List<Item> bag = playerList.get(i).getItemList();
+      for (int j = 0; j < bag.size(); j++) {
+        bagItems[k++] = bag.get(j);
+      }
+    }
+    // players of every room in the order the room lists them, a room is visited once
+    int[] roomPlayerOrder = new int[numPlayers];
+    k = 0;
+    for (int i = 0; i < numPlayers; i++) {
+      int roomId = playerRoomIds[i];
+      if (indexOfRoom(playerRoomIds, roomId) < i) {
+        continue;
+      }
+      List<Player> players = roomList.get(roomId).getPlayers();
+      for (int j = 0; j < players.size(); j++) {
+        roomPlayerOrder[k++] = indexOfPlayer(players.get(j));
+      }
+    }
+    int numRoomItems = 0;
+    for (int i = 0; i < numRoom; i++) {
+      numRoomItems += roomList.get(i).getItems().size();
+    }
+    Item[] roomItems = new Item[numRoomItems];
+    int[] roomItemRoomIds = new int[numRoomItems];
+    k = 0;
+    for (int i = 0; i < numRoom && k < numRoomItems; i++) {
+      List<Item> items = roomList.get(i).getItems();
+      for (int j = 0; j < items.size(); j++) {
+        roomItems[k] = items.get(j);
+        roomItemRoomIds[k++] = i;
+      }
+    }
+    return new GameState(turn, targetCharacter.getCurrentRoomId(), targetCharacter.getHealth(),
+        pet.getCurrentRoomId(), rosterIds, rosterNames, rosterIsHuman, rosterBagCapacities,
+        playerRoomIds, roomPlayerOrder, bagItems, bagEnds, roomItems, roomItemRoomIds);
+  }
+
+  /**
+   * Helper method to find the first player index whose room is roomId.
+   */
+  private static int indexOfRoom(int[] playerRoomIds, int roomId) {
+    int i = 0;
+    while (playerRoomIds[i] != roomId) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Helper method to find the index of a player object in the player list.
+   */
+  private int indexOfPlayer(Player player) {
+    for (int i = 0; i < playerList.size(); i++) {
+      if (playerList.get(i) == player) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("Player is not in the game.");
+  }
+
+  @Override
+  public void restore(GameState state) {
+    if (state == null) {
+      throw new IllegalArgumentException("State cannot be null.");
+    }
+    if (journal != null) {
+      throw new IllegalStateException("A journaled game cannot be restored.");
+    }
+    int numPlayers = state.getNumPlayers();
+    if (playerList.size() != numPlayers && !playerList.isEmpty()) {
+      throw new IllegalArgumentException("State does not have the players of the game.");
+    }
+    checkStateRoom(state.getTargetRoomId());
+    checkStateRoom(state.getPetRoomId());
+    for (int i = 0; i < numPlayers; i++) {
+      checkStateRoom(state.getPlayerRoomId(i));
+    }
+    int[] roomItemRoomIds = state.getRoomItemRoomIds();
+    for (int i = 0; i < roomItemRoomIds.length; i++) {
+      checkStateRoom(roomItemRoomIds[i]);
+    }
+    if (playerList.isEmpty()) {
+      for (int i = 0; i < numPlayers; i++) {
+        playerList.add(new PlayerCharacter(state.getPlayerName(i), state.getPlayerId(i),
+            state.getPlayerIsHuman(i), state.getBagCapacity(i), state.getPlayerRoomId(i)));
+      }
+      rosterIds = null;
+    }
+    for (int i = 0; i < numRoom; i++) {
+      roomList.get(i).clear();
+    }
+    Arrays.fill(occupancy, 0);
+    Arrays.fill(neighborOccupancy, 0);
+    for (int i = 0; i < numPlayers; i++) {
+      int roomId = state.getPlayerRoomId(i);
+      PlayerCharacter player = (PlayerCharacter) playerList.get(i);
+      player.move(roomId);
+      player.setItems(state.getBagItems(), state.bagStart(i), state.bagEnd(i));
+      updateOccupancy(roomId, 1);
+    }
+    int[] roomPlayerOrder = state.getRoomPlayerOrder();
+    for (int i = 0; i < numPlayers; i++) {
+      Player player = playerList.get(roomPlayerOrder[i]);
+      roomList.get(player.getCurrentRoomId()).addPlayer(player);
+    }
+    Item[] roomItems = state.getRoomItems();
+    for (int i = 0; i < roomItems.length; i++) {
+      roomList.get(roomItemRoomIds[i]).addItem(roomItems[i]);
+    }
+    ((TargetCharacter) targetCharacter).restore(state.getTargetRoomId(),
+        state.getTargetHealth());
+    pet.move(state.getPetRoomId());
+    turn = state.getTurn();
+  }
+
+  /**
+   * Helper method to check that a room of a state exists in this world.
+   */
+  private void checkStateRoom(int roomId) {
+    if (roomId < 0 || roomId >= numRoom) {
+      throw new IllegalArgumentException("State does not belong to this world.");
+    }
+  }
+
+  /**
+   * Helper method to keep the number of players in a room and around its neighbors
+   * up to date when a player enters or leaves the room, in O(number of neighbors).
+   * 
+   * @param roomId id of the room
+   * @param delta  1 when a player enters the room, -1 when a player leaves
+   */
+  private void updateOccupancy(int roomId, int delta) {
+    occupancy[roomId] += delta;
+    for (int i = 0; i < graph.degree(roomId); i++) {
+      neighborOccupancy[graph.neighbor(roomId, i)] += delta;
+    }
   }
 
   @Override
   public String moveTarget() {
-    StringBuilder str = new StringBuilder();
+    return describe(doMoveTarget());
+  }
+
+  @Override
+  public ActionEvent doMoveTarget() {
     targetCharacter.move();
-    str.append("Target ").append(getTargetCharacter().getName()).append(" moves to" + " ")
-        .append(getRoomList().get(getTargetCharacter().getCurrentRoomId()).getName()).append("\n");
-    return str.toString();
+    if (journal != null) {
+      journal.moveTarget();
+    }
+    return new ActionEvent(ActionType.MOVE_TARGET, ActionOutcome.DONE, -1,
+        targetCharacter.getCurrentRoomId(), null, targetCharacter.getHealth());
   }
 
   @Override
@@ -416,11 +567,26 @@ public class BuildWorldModel implements BuildWorld {
 
   @Override
   public String lookAround(int playerId) {
+    return describe(doLookAround(playerId));
+  }
+
+  @Override
+  public ActionEvent doLookAround(int playerId) {
     if (playerId < 0 || playerId > playerList.size() - 1) {
       throw new IllegalArgumentException("Invalid player id.");
     }
-    Player player = playerList.get(playerId);
-    Space room = roomList.get(player.getCurrentRoomId());
+    return new ActionEvent(ActionType.LOOK_AROUND, ActionOutcome.DONE, playerId,
+        playerList.get(playerId).getCurrentRoomId(), null, targetCharacter.getHealth());
+  }
+
+  /**
+   * Helper method to describe what a player sees from a room.
+   * 
+   * @param player the player looking around
+   * @param room   the room the player looks around from
+   * @return the description of the room, its neighbors and the target
+   */
+  private String describeLookAround(Player player, Space room) {
     StringBuilder str = new StringBuilder();
     String name = player.getName();
     String roomName = room.getName();
@@ -465,9 +631,9 @@ public class BuildWorldModel implements BuildWorld {
     // neighbors
     Space neigRoom;
     str.append("Neighboring rooms: ");
-    for (int i = 0; i < getNeigList(player.getCurrentRoomId()).size(); i++) {
+    for (int i = 0; i < graph.degree(room.getId()); i++) {
       str.append("\n");
-      neigRoom = getNeigList(player.getCurrentRoomId()).get(i);
+      neigRoom = roomList.get(graph.neighbor(room.getId(), i));
       str.append(i);
       str.append(": ");
       str.append(neigRoom.getName());
@@ -574,33 +740,51 @@ public class BuildWorldModel implements BuildWorld {
 
   }
 
+  @Override
+  public int randomNum(int max) {
+    if (max <= 0) {
+      throw new IllegalArgumentException("Max has to be positive.");
+    }
+    return random.nextInt(max);
+  }
+
+  @Override
+  public void setSeed(long seed) {
+    random = new SplittableRandom(seed);
+  }
+
+  @Override
+  public SplittableRandom splitRandom() {
+    return random.split();
+  }
+
   @Override
   public boolean canBeSeen(Player player) {
     if (player == null) {
       throw new IllegalArgumentException("Player cannot be null.");
     }
+    int roomId = player.getCurrentRoomId();
     // return true if there are players in the same room
-    if (roomList.get(player.getCurrentRoomId()).getPlayers().size() > 1) {
+    if (occupancy[roomId] > 1) {
       return true;
     }
     // return false if there are no players in the same room and pet is in the same
     // room
-    if (pet.getCurrentRoomId() == player.getCurrentRoomId()) {
+    if (pet.getCurrentRoomId() == roomId) {
       return false;
     }
-    List<Space> neighbors = getNeigList(player.getCurrentRoomId());
-    for (int i = 0; i < neighbors.size(); i++) {
-      // return true if there are players in neighboring rooms
-      if (neighbors.get(i).getPlayers().size() > 0) {
-        return true;
-      }
-    }
-    // return false if no players in current room and neighboring room
-    return false;
+    // return true if there are players in neighboring rooms, false if there are no
+    // players in current room and neighboring room
+    return neighborOccupancy[roomId] > 0;
   }
 
   @Override
   public String attackTarget(int playerId, int itemId) {
+    return describe(doAttackTarget(playerId, itemId));
+  }
+
+  @Override
+  public ActionEvent doAttackTarget(int playerId, int itemId) {
     if (playerId < 0 || playerId > playerList.size() - 1) {
       throw new IllegalArgumentException("Invalid player id.");
     }
@@ -608,70 +792,124 @@ public class BuildWorldModel implements BuildWorld {
       throw new IllegalArgumentException("Invalid item id.");
     }
     Player player = playerList.get(playerId);
-    Item item = playerList.get(playerId).getItemList().get(itemId);
-    String playerName = player.getName();
-    if (player.getCurrentRoomId() != targetCharacter.getCurrentRoomId()) {
-      StringBuilder str = new StringBuilder();
-      player.removeItem(item);
-      str.append("Attack fails. Target is not in the same room").append("\n");
-      return str.toString();
-    }
-    // attacks fails if player is seen by others
-    if (canBeSeen(player)) {
-      StringBuilder str = new StringBuilder();
-      player.removeItem(item);
-      str.append("Attack fails. Player is seen by others").append("\n");
-      return str.toString();
-    } else {
-      int damage = item.getPower();
-      // reduce target health
-      targetCharacter.reduceHealth(damage);
-      // remove item
-      player.removeItem(item);
-      StringBuilder str = new StringBuilder();
-      str.append(playerName).append(" attacks target with ");
-      str.append(item.getName()).append("\n");
-      str.append("Target remaining health: ").append(targetCharacter.getHealth()).append("\n");
-      return str.toString();
-    }
+    Item item = player.getItemList().get(itemId);
+    // the item is used up whether or not the attack succeeds
+    player.removeItem(item);
+    ActionOutcome outcome = attemptOutcome(player);
+    if (outcome == ActionOutcome.DONE) {
+      targetCharacter.reduceHealth(item.getPower());
+    }
+    if (journal != null) {
+      journal.attack(playerId, itemId);
+    }
+    return new ActionEvent(ActionType.ATTACK, outcome, playerId, player.getCurrentRoomId(), item,
+        targetCharacter.getHealth());
   }
 
   @Override
   public String pokeTarget(int playerId) {
+    return describe(doPokeTarget(playerId));
+  }
+
+  @Override
+  public ActionEvent doPokeTarget(int playerId) {
     if (playerId < 0 || playerId > playerList.size() - 1) {
       throw new IllegalArgumentException("Invalid player id.");
     }
     Player player = playerList.get(playerId);
+    ActionOutcome outcome = attemptOutcome(player);
+    if (outcome == ActionOutcome.DONE) {
+      targetCharacter.reduceHealth(1);
+    }
+    if (journal != null) {
+      journal.poke(playerId);
+    }
+    return new ActionEvent(ActionType.POKE, outcome, playerId, player.getCurrentRoomId(), null,
+        targetCharacter.getHealth());
+  }
+
+  /**
+   * Helper method to decide whether an attempt on target's life by a player succeeds.
+   * 
+   * @param player the player making the attempt
+   * @return DONE if the attempt succeeds, otherwise the reason it fails
+   */
+  private ActionOutcome attemptOutcome(Player player) {
     if (player.getCurrentRoomId() != targetCharacter.getCurrentRoomId()) {
-      StringBuilder str = new StringBuilder();
-      str.append("Attack fails. Target is not in the same room").append("\n");
-      return str.toString();
+      return ActionOutcome.TARGET_NOT_IN_ROOM;
     }
+    // attacks fails if player is seen by others
     if (canBeSeen(player)) {
-      StringBuilder str = new StringBuilder();
-      str.append("Attack fails. Player is seen by others").append("\n");
-      return str.toString();
-    } else {
-      String playerName = playerList.get(playerId).getName();
-      targetCharacter.reduceHealth(1);
-      StringBuilder str = new StringBuilder();
-      str.append(playerName).append(" pokes target in eyes.").append("\n");
-      str.append("Target remaining health: ").append(targetCharacter.getHealth()).append("\n");
-      return str.toString();
+      return ActionOutcome.SEEN_BY_OTHERS;
     }
+    return ActionOutcome.DONE;
   }
 
   @Override
   public String movePet(int roomId) {
+    return describe(doMovePet(roomId));
+  }
+
+  @Override
+  public ActionEvent doMovePet(int roomId) {
     if (roomId < 0 || roomId >= roomList.size()) {
       throw new IllegalArgumentException("Room does not exist.");
     }
-//    if (pet.getCurrentRoomId() == roomId) {
-//      throw new IllegalArgumentException("Pet cannot move to current room.");
-//    }
     pet.move(roomId);
+    if (journal != null) {
+      journal.movePet(roomId);
+    }
+    return new ActionEvent(ActionType.MOVE_PET, ActionOutcome.DONE, -1, roomId, null,
+        targetCharacter.getHealth());
+  }
+
+  @Override
+  public String describe(ActionEvent event) {
+    if (event == null) {
+      throw new IllegalArgumentException("Event cannot be null.");
+    }
+    switch (event.getOutcome()) {
+      case TARGET_NOT_IN_ROOM:
+        return "Attack fails. Target is not in the same room\n";
+      case SEEN_BY_OTHERS:
+        return "Attack fails. Player is seen by others\n";
+      default:
+        break;
+    }
     StringBuilder str = new StringBuilder();
-    str.append("Pet is moved to ").append(roomList.get(roomId).getName()).append("\n");
+    String roomName = roomList.get(event.getRoomId()).getName();
+    switch (event.getType()) {
+      case MOVE:
+        str.append(playerList.get(event.getPlayerId()).getName());
+        str.append(" moves to ").append(roomName).append("\n");
+        break;
+      case PICK_ITEM:
+        str.append(playerList.get(event.getPlayerId()).getName());
+        str.append(" picks up ").append(event.getItem().getName()).append("\n");
+        break;
+      case LOOK_AROUND:
+        return describeLookAround(playerList.get(event.getPlayerId()),
+            roomList.get(event.getRoomId()));
+      case ATTACK:
+        str.append(playerList.get(event.getPlayerId()).getName()).append(" attacks target with ");
+        str.append(event.getItem().getName()).append("\n");
+        str.append("Target remaining health: ").append(event.getTargetHealth()).append("\n");
+        break;
+      case POKE:
+        str.append(playerList.get(event.getPlayerId()).getName());
+        str.append(" pokes target in eyes.").append("\n");
+        str.append("Target remaining health: ").append(event.getTargetHealth()).append("\n");
+        break;
+      case MOVE_PET:
+        str.append("Pet is moved to ").append(roomName).append("\n");
+        break;
+      case MOVE_TARGET:
+        str.append("Target ").append(targetName).append(" moves to ").append(roomName)
+            .append("\n");
+        break;
+      default:
+        break;
+    }
     return str.toString();
   }
 
@@ -709,53 +947,13 @@ public class BuildWorldModel implements BuildWorld {
     if (numMoves < 0) {
       throw new IllegalArgumentException("Moves cannot be negative.");
     }
-    List<Integer> path = dfsPath(startRoomId);
-    path.remove(0);
-    movePet(path.get(numMoves % path.size()));
-
-  }
-
-  /**
-   * Helper method to return the DFS path starting at Room with id equals to
-   * roomId.
-   * 
-   * @param roomId id of starting room
-   * @return an list with DFS path
-   * @throws IllegalArgumentException if room id is invalid
-   */
-  private List<Integer> dfsPath(int roomId) {
-    if (roomId < 0 || roomId >= roomList.size()) {
-      throw new IllegalArgumentException("Room does not exist.");
-    }
-    Space room = roomList.get(roomId);
-    List<Integer> path = new ArrayList<>();
-    Stack<Integer> route = new Stack<>();
-    path.add(roomId);
-    route.push(roomId);
-    while (!route.isEmpty()) {
-      int nextRoomId = Integer.MAX_VALUE;
-      for (int i = 0; i < room.getNeighbors().size(); i++) {
-        int neighborId = room.getNeighbors().get(i).getId();
-        if (path.contains(neighborId)) {
-          continue;
-        }
-        if (neighborId < nextRoomId) {
-          nextRoomId = neighborId;
-        }
-      }
-      if (nextRoomId != Integer.MAX_VALUE) {
-        route.push(nextRoomId);
-        path.add(nextRoomId);
-        room = roomList.get(nextRoomId);
-      } else {
-        route.pop();
-        if (!route.isEmpty()) {
-          path.add(route.peek());
-          room = roomList.get(route.peek());
-        }
-      }
+    // the tour is cached by the room graph, the first room is the start room itself
+    int length = graph.dfsTourLength(startRoomId);
+    if (length == 1) {
+      doMovePet(startRoomId);
+      return;
     }
-    return path;
+    doMovePet(graph.dfsTourRoom(startRoomId, 1 + numMoves % (length - 1)));
   }
 
   @Override
@@ -776,23 +974,17 @@ public class BuildWorldModel implements BuildWorld {
         return "poke";
       }
     } else {
-      List<String> commandList = new ArrayList<>();
-      commandList.add("look");
-      commandList.add("move");
-      commandList.add("pick");
-      Random random = new Random();
-      String cmd = commandList.get(randomNum(commandList.size(), random));
-      if ("pick".equals(cmd)
-          && roomList.get(playerList.get(playerId).getCurrentRoomId()).getItems().size() == 0) {
-        cmd = commandList.get(randomNum(commandList.size() - 1, random));
+      // pick is only chosen when there are items in the room
+      if (roomList.get(playerList.get(playerId).getCurrentRoomId()).getItems().isEmpty()) {
+        return COMMANDS[randomNum(COMMANDS.length - 1)];
       }
-      return cmd;
+      return COMMANDS[randomNum(COMMANDS.length)];
     }
   }
 
   @Override
-  public BufferedImage getMap() {
-    return image;
+  public MapTiles getMapTiles() {
+    return spec.getMapTiles();
   }
 
   @Override
@@ -822,6 +1014,9 @@ public class BuildWorldModel implements BuildWorld {
   @Override
   public void nextTurn() {
     this.turn++;
+    if (journal != null) {
+      journal.nextTurn();
+    }
   }
 
   @Override
@@ -852,7 +1047,19 @@ public class BuildWorldModel implements BuildWorld {
       throw new IllegalArgumentException("Max cannot be negative.");
     }
     this.maxTurn = max;
+    if (journal != null) {
+      journal.setMaxTurn(max);
+    }
+  }
 
+  @Override
+  public RoomGraph getRoomGraph() {
+    return graph;
+  }
+
+  @Override
+  public WorldSpec getSpec() {
+    return spec;
   }
 
   @Override
@@ -0,0 +1,101 @@
+package world;
+
+/**
+ * An action chosen by a computer player: the kind of action and its argument, which
+ * is the room to move to for a move, the room to move the pet to for a pet move, the
+ * index of the item in the room for a pick and in the bag for an attack.
+ *
+ */
+public final class ComputerAction {
+
+  private final ActionType type;
+  private final int argument;
+
+  /**
+   * Constructs an action.
+   * 
+   * @param type     the kind of action, moving the target is not an action of a player
+   * @param argument room id or item index of the action, 0 if the action has none
+   * @throws IllegalArgumentException if type is null or MOVE_TARGET, or argument is
+   *                                  negative
+   */
+  public ComputerAction(ActionType type, int argument) {
+    if (type == null || type == ActionType.MOVE_TARGET) {
+      throw new IllegalArgumentException("Invalid action type.");
+    }
+    if (argument < 0) {
+      throw new IllegalArgumentException("Argument cannot be negative.");
+    }
+    this.type = type;
+    this.argument = argument;
+  }
+
+  /**
+   * Return the kind of action.
+   * 
+   * @return type of the action
+   */
+  public ActionType getType() {
+    return type;
+  }
+
+  /**
+   * Return the room id or item index of the action.
+   * 
+   * @return the argument of the action
+   */
+  public int getArgument() {
+    return argument;
+  }
+
+  /**
+   * Do the action in a game without building any text.
+   * 
+   * @param model    the game
+   * @param playerId id of the player doing the action
+   * @return the event of the action
+   * @throws IllegalArgumentException if the action cannot be done
+   */
+  public ActionEvent apply(BuildWorld model, int playerId) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    switch (type) {
+      case MOVE:
+        return model.doMove(playerId, argument);
+      case PICK_ITEM:
+        return model.doPickItem(playerId, argument);
+      case ATTACK:
+        return model.doAttackTarget(playerId, argument);
+      case POKE:
+        return model.doPokeTarget(playerId);
+      case MOVE_PET:
+        return model.doMovePet(argument);
+      default:
+        return model.doLookAround(playerId);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ComputerAction)) {
+      return false;
+    }
+    ComputerAction that = (ComputerAction) o;
+    return type == that.type && argument == that.argument;
+  }
+
+  @Override
+  public int hashCode() {
+    return type.hashCode() * 31 + argument;
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + argument;
+  }
+
+}
@@ -0,0 +1,21 @@
+package world;
+
+/**
+ * An interface for the strategies that choose the action of a computer player on
+ * its turn.
+ *
+ */
+public interface ComputerPlayer {
+
+  /**
+   * Choose the action of a player for the current turn of the game. The game is left
+   * in the state it was in.
+   * 
+   * @param model    the game
+   * @param playerId id of the player whose turn it is
+   * @return the action to do
+   * @throws IllegalArgumentException if model is null or player id is invalid
+   */
+  ComputerAction chooseAction(BuildWorld model, int playerId);
+
+}
@@ -0,0 +1,332 @@
+package world;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Saves games in progress to checkpoint files and loads them back. A checkpoint holds
+ * the max turn and the GameState of the game: the players with their rooms and bags,
+ * the items in every room, the health and room of the target, the room of the pet and
+ * the turn. Items of the world are stored by their index in the WorldSpec, other items
+ * by name and power.
+ *
+ * <p>A checkpoint is written to a temporary file next to it which is then moved over
+ * the old checkpoint, so a crash never leaves a partly written checkpoint behind.
+ * Checkpoints can be written on a background thread, the state is taken on the calling
+ * thread so the game can go on at once. Checkpoints are loaded by mapping the file into
+ * memory and decoding it in one pass.
+ *
+ */
+public final class GameCheckpoint {
+
+  static final int MAGIC = 0x444c4331;
+  static final int VERSION = 1;
+
+  private static final int INLINE_ITEM = -1;
+
+  // one writer thread keeps checkpoints of the same file in the order they were taken
+  private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "checkpoint-writer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private GameCheckpoint() {
+  }
+
+  /**
+   * Write a checkpoint of a game, replacing the file if it exists.
+   *
+   * @param model the game
+   * @param path  path of the checkpoint file
+   * @throws IllegalArgumentException if an argument is null
+   * @throws IllegalStateException    if the file cannot be written
+   */
+  public static void save(BuildWorld model, String path) {
+    checkArgs(model, path);
+    write(encode(model.getSpec(), model.getMaxTurn(), model.snapshot()), Paths.get(path));
+  }
+
+  /**
+   * Take a checkpoint of a game now and write it on a background thread, replacing the
+   * file if it exists. Checkpoints are written in the order they are taken.
+   *
+   * @param model the game
+   * @param path  path of the checkpoint file
+   * @return a future completed when the file is written, or completed with an
+   *         IllegalStateException if it cannot be written
+   * @throws IllegalArgumentException if an argument is null
+   */
+  public static CompletableFuture<Void> saveAsync(BuildWorld model, String path) {
+    checkArgs(model, path);
+    WorldSpec spec = model.getSpec();
+    int maxTurn = model.getMaxTurn();
+    GameState state = model.snapshot();
+    Path file = Paths.get(path);
+    return CompletableFuture.runAsync(() -> write(encode(spec, maxTurn, state), file), WRITER);
+  }
+
+  /**
+   * Load a game from a checkpoint.
+   *
+   * @param spec the specification of the world the game was played in
+   * @param path path of the checkpoint file
+   * @return a new game in the state of the checkpoint
+   * @throws IllegalArgumentException if an argument is null, the file cannot be read or
+   *                                  it is not a checkpoint of a game of this world
+   */
+  public static BuildWorldModel load(WorldSpec spec, String path) {
+    if (spec == null || path == null) {
+      throw new IllegalArgumentException("World specification and path cannot be null.");
+    }
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to read checkpoint file.");
+    }
+    try {
+      if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+        throw new IllegalArgumentException("File is not a checkpoint.");
+      }
+      if (buffer.getInt() != VERSION) {
+        throw new IllegalArgumentException("Checkpoint version is not supported.");
+      }
+      if (buffer.getInt() != spec.getNumRoom() || buffer.getInt() != spec.getNumItems()) {
+        throw new IllegalArgumentException("Checkpoint does not belong to this world.");
+      }
+      int maxTurn = buffer.getInt();
+      if (maxTurn <= 0) {
+        throw new IllegalArgumentException("Checkpoint is corrupted.");
+      }
+      BuildWorldModel model = new BuildWorldModel(spec, maxTurn);
+      model.restore(decode(spec, buffer));
+      return model;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Checkpoint is corrupted.");
+    }
+  }
+
+  private static void checkArgs(BuildWorld model, String path) {
+    if (model == null || path == null) {
+      throw new IllegalArgumentException("Model and path cannot be null.");
+    }
+  }
+
+  /**
+   * Helper method to encode the header and a state of a game.
+   */
+  private static ByteBuffer encode(WorldSpec spec, int maxTurn, GameState state) {
+    Map<Item, Integer> itemIndex = new HashMap<>();
+    for (int i = spec.getNumItems() - 1; i >= 0; i--) {
+      itemIndex.put(spec.getItem(i), i);
+    }
+    int numPlayers = state.getNumPlayers();
+    byte[][] names = new byte[numPlayers][];
+    // ten header ints and the number of items in rooms
+    int size = 4 * 11;
+    for (int i = 0; i < numPlayers; i++) {
+      names[i] = state.getPlayerName(i).getBytes(StandardCharsets.UTF_8);
+      size += 4 * 5 + 1 + names[i].length;
+    }
+    Item[] bagItems = state.getBagItems();
+    Item[] roomItems = state.getRoomItems();
+    size += 4 * roomItems.length + itemsSize(bagItems, itemIndex) + itemsSize(roomItems,
+        itemIndex);
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(spec.getNumRoom())
+        .putInt(spec.getNumItems()).putInt(maxTurn).putInt(state.getTurn())
+        .putInt(state.getTargetRoomId()).putInt(state.getTargetHealth())
+        .putInt(state.getPetRoomId()).putInt(numPlayers);
+    for (int i = 0; i < numPlayers; i++) {
+      buffer.putInt(state.getPlayerRoomId(i)).putInt(state.getBagCapacity(i))
+          .put((byte) (state.getPlayerIsHuman(i) ? 1 : 0)).putInt(names[i].length)
+          .put(names[i]);
+    }
+    int[] roomPlayerOrder = state.getRoomPlayerOrder();
+    for (int i = 0; i < numPlayers; i++) {
+      buffer.putInt(roomPlayerOrder[i]);
+    }
+    for (int i = 0; i < numPlayers; i++) {
+      buffer.putInt(state.bagEnd(i));
+    }
+    for (Item item : bagItems) {
+      putItem(buffer, item, itemIndex);
+    }
+    int[] roomItemRoomIds = state.getRoomItemRoomIds();
+    buffer.putInt(roomItems.length);
+    for (int i = 0; i < roomItems.length; i++) {
+      buffer.putInt(roomItemRoomIds[i]);
+      putItem(buffer, roomItems[i], itemIndex);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Helper method to return the number of bytes needed to encode items.
+   */
+  private static int itemsSize(Item[] items, Map<Item, Integer> itemIndex) {
+    int size = 0;
+    for (Item item : items) {
+      size += 4;
+      if (!itemIndex.containsKey(item)) {
+        size += 4 + 4 + item.getName().getBytes(StandardCharsets.UTF_8).length;
+      }
+    }
+    return size;
+  }
+
+  private static void putItem(ByteBuffer buffer, Item item, Map<Item, Integer> itemIndex) {
+    Integer index = itemIndex.get(item);
+    if (index != null) {
+      buffer.putInt(index);
+      return;
+    }
+    byte[] name = item.getName().getBytes(StandardCharsets.UTF_8);
+    buffer.putInt(INLINE_ITEM).putInt(item.getPower()).putInt(name.length).put(name);
+  }
+
+  /**
+   * Helper method to write a checkpoint to a temporary file in the same directory and
+   * move it over the checkpoint.
+   */
+  private static void write(ByteBuffer buffer, Path file) {
+    Path dir = file.toAbsolutePath().getParent();
+    Path temp = null;
+    try {
+      temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+          // the write already failed, the temporary file is left behind
+        }
+      }
+      throw new IllegalStateException("Unable to write checkpoint file.");
+    }
+  }
+
+  /**
+   * Helper method to decode a state, checking every count and index so a damaged file
+   * is rejected instead of building a broken game.
+   */
+  private static GameState decode(WorldSpec spec, ByteBuffer buffer) {
+    int turn = buffer.getInt();
+    int targetRoomId = buffer.getInt();
+    int targetHealth = buffer.getInt();
+    int petRoomId = buffer.getInt();
+    int numPlayers = checkCount(buffer.getInt(), buffer);
+    if (turn <= 0 || targetHealth < 0) {
+      throw new IllegalArgumentException("Checkpoint is corrupted.");
+    }
+    int[] playerIds = new int[numPlayers];
+    String[] names = new String[numPlayers];
+    boolean[] isHuman = new boolean[numPlayers];
+    int[] bagCapacities = new int[numPlayers];
+    int[] playerRoomIds = new int[numPlayers];
+    for (int i = 0; i < numPlayers; i++) {
+      playerIds[i] = i;
+      playerRoomIds[i] = buffer.getInt();
+      bagCapacities[i] = buffer.getInt();
+      isHuman[i] = buffer.get() != 0;
+      names[i] = getString(buffer);
+    }
+    int[] roomPlayerOrder = new int[numPlayers];
+    boolean[] listed = new boolean[numPlayers];
+    for (int i = 0; i < numPlayers; i++) {
+      int playerId = buffer.getInt();
+      if (playerId < 0 || playerId >= numPlayers || listed[playerId]) {
+        throw new IllegalArgumentException("Checkpoint is corrupted.");
+      }
+      listed[playerId] = true;
+      roomPlayerOrder[i] = playerId;
+    }
+    int[] bagEnds = new int[numPlayers];
+    int bagEnd = 0;
+    for (int i = 0; i < numPlayers; i++) {
+      int end = buffer.getInt();
+      if (end < bagEnd || end - bagEnd > bagCapacities[i]) {
+        throw new IllegalArgumentException("Checkpoint is corrupted.");
+      }
+      bagEnds[i] = end;
+      bagEnd = end;
+    }
+    Item[] bagItems = new Item[checkCount(bagEnd, buffer)];
+    for (int i = 0; i < bagItems.length; i++) {
+      bagItems[i] = getItem(spec, buffer);
+    }
+    int numRoomItems = checkCount(buffer.getInt(), buffer);
+    Item[] roomItems = new Item[numRoomItems];
+    int[] roomItemRoomIds = new int[numRoomItems];
+    for (int i = 0; i < numRoomItems; i++) {
+      roomItemRoomIds[i] = buffer.getInt();
+      roomItems[i] = getItem(spec, buffer);
+    }
+    return new GameState(turn, targetRoomId, targetHealth, petRoomId, playerIds, names,
+        isHuman, bagCapacities, playerRoomIds, roomPlayerOrder, bagItems, bagEnds,
+        roomItems, roomItemRoomIds);
+  }
+
+  /**
+   * Helper method to check that a count of records of at least four bytes fits in the
+   * rest of the file before arrays are allocated for it.
+   */
+  private static int checkCount(int count, ByteBuffer buffer) {
+    if (count < 0 || count > buffer.remaining() / 4) {
+      throw new IllegalArgumentException("Checkpoint is corrupted.");
+    }
+    return count;
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Checkpoint is corrupted.");
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static Item getItem(WorldSpec spec, ByteBuffer buffer) {
+    int index = buffer.getInt();
+    if (index == INLINE_ITEM) {
+      int power = buffer.getInt();
+      return new Weapon(getString(buffer), power);
+    }
+    if (index < 0 || index >= spec.getNumItems()) {
+      throw new IllegalArgumentException("Checkpoint is corrupted.");
+    }
+    return spec.getItem(index);
+  }
+
+}
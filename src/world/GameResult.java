@@ -0,0 +1,107 @@
+package world;
+
+/**
+ * The outcome of a single game played by a simulator, with the winner, the number of
+ * turns played and how the attempts on target's life went.
+ *
+ */
+public final class GameResult {
+
+  private final int winnerId;
+  private final int turns;
+  private final int targetHealth;
+  private final int attempts;
+  private final int hits;
+
+  /**
+   * Constructs the result of one game.
+   * 
+   * @param winnerId     id of the player who killed the target, -1 if target ran away
+   * @param turns        number of turns played
+   * @param targetHealth remaining health of the target when game ends
+   * @param attempts     number of attacks and pokes made by players
+   * @param hits         number of attempts that damaged the target
+   * @throws IllegalArgumentException if turns, attempts or hits is negative
+   */
+  public GameResult(int winnerId, int turns, int targetHealth, int attempts, int hits) {
+    if (winnerId < -1) {
+      throw new IllegalArgumentException("Invalid winner id.");
+    }
+    if (turns < 0 || attempts < 0 || hits < 0) {
+      throw new IllegalArgumentException("Counters cannot be negative.");
+    }
+    this.winnerId = winnerId;
+    this.turns = turns;
+    this.targetHealth = targetHealth;
+    this.attempts = attempts;
+    this.hits = hits;
+  }
+
+  /**
+   * Return the id of the winner of the game.
+   * 
+   * @return id of the player who killed the target, -1 if target ran away
+   */
+  public int getWinnerId() {
+    return winnerId;
+  }
+
+  /**
+   * Return true if target was killed in this game.
+   * 
+   * @return true if target was killed, otherwise false
+   */
+  public boolean isTargetKilled() {
+    return winnerId >= 0;
+  }
+
+  /**
+   * Return the number of turns played in this game.
+   * 
+   * @return number of turns played
+   */
+  public int getTurns() {
+    return turns;
+  }
+
+  /**
+   * Return the remaining health of target at the end of the game.
+   * 
+   * @return remaining health of target
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Return the number of attacks and pokes made in this game.
+   * 
+   * @return number of attempts on target's life
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Return the number of attempts that damaged the target.
+   * 
+   * @return number of successful attempts
+   */
+  public int getHits() {
+    return hits;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder str = new StringBuilder();
+    if (isTargetKilled()) {
+      str.append("Target killed by player ").append(winnerId);
+    } else {
+      str.append("Target ran away");
+    }
+    str.append(" after ").append(turns).append(" turns, ");
+    str.append(hits).append("/").append(attempts).append(" attempts hit");
+    return str.toString();
+  }
+
+}
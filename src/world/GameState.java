@@ -0,0 +1,212 @@
+package world;
+
+import java.util.Arrays;
+
+/**
+ * An immutable copy of everything that changes during a game: the room and bag of
+ * every player, the items in the rooms, the health and room of the target, the room
+ * of the pet and the turn. It is made of a few flat arrays, taking and restoring a
+ * state costs time proportional to the number of players, items and rooms, so an
+ * AI can try actions and roll them back, or play many games from the same state.
+ * Items are immutable and shared with the game. A state can be shared between
+ * threads.
+ *
+ */
+public final class GameState {
+
+  private final int turn;
+  private final int targetRoomId;
+  private final int targetHealth;
+  private final int petRoomId;
+  private final int[] playerIds;
+  private final String[] playerNames;
+  private final boolean[] playerIsHuman;
+  private final int[] bagCapacities;
+  private final int[] playerRoomIds;
+  // player ids in the order they are listed by the rooms, room by room
+  private final int[] roomPlayerOrder;
+  // items of the bags one player after another, bagEnds[i] is the end of the bag of i
+  private final Item[] bagItems;
+  private final int[] bagEnds;
+  // items lying in rooms in the order they are listed by the rooms
+  private final Item[] roomItems;
+  private final int[] roomItemRoomIds;
+
+  GameState(int turn, int targetRoomId, int targetHealth, int petRoomId, int[] playerIds,
+      String[] playerNames, boolean[] playerIsHuman, int[] bagCapacities, int[] playerRoomIds,
+      int[] roomPlayerOrder, Item[] bagItems, int[] bagEnds, Item[] roomItems,
+      int[] roomItemRoomIds) {
+    this.turn = turn;
+    this.targetRoomId = targetRoomId;
+    this.targetHealth = targetHealth;
+    this.petRoomId = petRoomId;
+    this.playerIds = playerIds;
+    this.playerNames = playerNames;
+    this.playerIsHuman = playerIsHuman;
+    this.bagCapacities = bagCapacities;
+    this.playerRoomIds = playerRoomIds;
+    this.roomPlayerOrder = roomPlayerOrder;
+    this.bagItems = bagItems;
+    this.bagEnds = bagEnds;
+    this.roomItems = roomItems;
+    this.roomItemRoomIds = roomItemRoomIds;
+  }
+
+  /**
+   * Return the turn of the game.
+   *
+   * @return the turn
+   */
+  public int getTurn() {
+    return turn;
+  }
+
+  /**
+   * Return the id of the room the target is in.
+   *
+   * @return room id of the target
+   */
+  public int getTargetRoomId() {
+    return targetRoomId;
+  }
+
+  /**
+   * Return the health of the target.
+   *
+   * @return health of the target
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Return the id of the room the pet is in.
+   *
+   * @return room id of the pet
+   */
+  public int getPetRoomId() {
+    return petRoomId;
+  }
+
+  /**
+   * Return the number of players.
+   *
+   * @return number of players
+   */
+  public int getNumPlayers() {
+    return playerRoomIds.length;
+  }
+
+  /**
+   * Return the id of the room a player is in.
+   *
+   * @param playerId id of the player
+   * @return room id of the player
+   * @throws IllegalArgumentException if player id is invalid
+   */
+  public int getPlayerRoomId(int playerId) {
+    checkPlayerId(playerId);
+    return playerRoomIds[playerId];
+  }
+
+  /**
+   * Return the number of items in the bag of a player.
+   *
+   * @param playerId id of the player
+   * @return number of items carried by the player
+   * @throws IllegalArgumentException if player id is invalid
+   */
+  public int getNumItemsInBag(int playerId) {
+    checkPlayerId(playerId);
+    return bagEnds[playerId] - bagStart(playerId);
+  }
+
+  /**
+   * Return the number of items lying in the rooms.
+   *
+   * @return number of items in rooms
+   */
+  public int getNumItemsInRooms() {
+    return roomItems.length;
+  }
+
+  int getPlayerId(int index) {
+    return playerIds[index];
+  }
+
+  String getPlayerName(int playerId) {
+    return playerNames[playerId];
+  }
+
+  boolean getPlayerIsHuman(int playerId) {
+    return playerIsHuman[playerId];
+  }
+
+  int getBagCapacity(int playerId) {
+    return bagCapacities[playerId];
+  }
+
+  int[] getRoomPlayerOrder() {
+    return roomPlayerOrder;
+  }
+
+  Item[] getBagItems() {
+    return bagItems;
+  }
+
+  int bagStart(int playerId) {
+    return playerId == 0 ? 0 : bagEnds[playerId - 1];
+  }
+
+  int bagEnd(int playerId) {
+    return bagEnds[playerId];
+  }
+
+  Item[] getRoomItems() {
+    return roomItems;
+  }
+
+  int[] getRoomItemRoomIds() {
+    return roomItemRoomIds;
+  }
+
+  private void checkPlayerId(int playerId) {
+    if (playerId < 0 || playerId >= playerRoomIds.length) {
+      throw new IllegalArgumentException("Invalid player id.");
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof GameState)) {
+      return false;
+    }
+    GameState that = (GameState) o;
+    return turn == that.turn && targetRoomId == that.targetRoomId
+        && targetHealth == that.targetHealth && petRoomId == that.petRoomId
+        && Arrays.equals(playerRoomIds, that.playerRoomIds)
+        && Arrays.equals(roomPlayerOrder, that.roomPlayerOrder)
+        && Arrays.equals(bagEnds, that.bagEnds) && Arrays.equals(bagItems, that.bagItems)
+        && Arrays.equals(roomItemRoomIds, that.roomItemRoomIds)
+        && Arrays.equals(roomItems, that.roomItems)
+        && Arrays.equals(playerNames, that.playerNames);
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 17;
+    result = result * prime + turn;
+    result = result * prime + targetRoomId;
+    result = result * prime + targetHealth;
+    result = result * prime + petRoomId;
+    result = result * prime + Arrays.hashCode(playerRoomIds);
+    result = result * prime + Arrays.hashCode(bagItems);
+    result = result * prime + Arrays.hashCode(roomItemRoomIds);
+    return result;
+  }
+
+}
@@ -0,0 +1,160 @@
+package world;
+
+/**
+ * Simulator that plays games of a world specification one after another without any
+ * view. Every player is controlled by the computer, the commands come from
+ * computerCommand and are executed the same way SwingController executes them. The
+ * world file is read once and every game is built from the same WorldSpec. Every game
+ * has its own random stream seeded from the seed of the simulator and the index of
+ * the game, so the seed fully determines the games.
+ *
+ */
+public class HeadlessSimulator implements Simulator {
+
+  private final String filePath;
+  private final int maxTurn;
+  private final int numPlayers;
+  private final int bagCapacity;
+  private final long seed;
+
+  /**
+   * Constructs a simulator for the world specification in the given file.
+   * 
+   * @param filePath    path of the world specification
+   * @param maxTurn     max number of turns of every game
+   * @param numPlayers  number of computer players in every game
+   * @param bagCapacity number of items every player can carry
+   * @param seed        seed used to place players and choose rooms to move to
+   * @throws IllegalArgumentException if any argument is invalid
+   */
+  public HeadlessSimulator(String filePath, int maxTurn, int numPlayers, int bagCapacity,
+      long seed) {
+    if (filePath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    if (maxTurn <= 0) {
+      throw new IllegalArgumentException("Max turn has to be positive.");
+    }
+    if (numPlayers <= 0) {
+      throw new IllegalArgumentException("Number of players has to be positive.");
+    }
+    if (bagCapacity < 0) {
+      throw new IllegalArgumentException("Bag capacity cannot be negative.");
+    }
+    this.filePath = filePath;
+    this.maxTurn = maxTurn;
+    this.numPlayers = numPlayers;
+    this.bagCapacity = bagCapacity;
+    this.seed = seed;
+  }
+
+  @Override
+  public SimulationReport run(int numGames) {
+    if (numGames <= 0) {
+      throw new IllegalArgumentException("Number of games has to be positive.");
+    }
+    SimulationReport report = new SimulationReport(numPlayers);
+    WorldSpec spec = WorldSpec.fromFile(filePath);
+    long start = System.nanoTime();
+    for (int i = 0; i < numGames; i++) {
+      report.add(playGame(new BuildWorldModel(spec, maxTurn, gameSeed(seed, i)), numPlayers,
+          bagCapacity));
+    }
+    report.setElapsedNanos(System.nanoTime() - start);
+    return report;
+  }
+
+  /**
+   * Return the seed of a game of a simulation, the long number the game index would
+   * draw from a SplittableRandom seeded with the seed, found without drawing the ones
+   * before it. Adding the index times the gamma of SplittableRandom would seed the
+   * next game with the state of this one one draw later, so the seed is passed
+   * through the mixing function of SplitMix64 and the streams of neighboring games
+   * start at unrelated places.
+   * 
+   * @param seed seed of the simulation
+   * @param game index of the game
+   * @return the seed of the random stream of the game
+   */
+  public static long gameSeed(long seed, int game) {
+    long z = seed + (game + 1L) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Play one game on a freshly built model until target is killed or max turn is
+   * reached, every random choice comes from the random stream of the model.
+   * 
+   * @param model       the model of the game, without any player
+   * @param numPlayers  number of computer players to add
+   * @param bagCapacity number of items every player can carry
+   * @return the outcome of the game
+   * @throws IllegalArgumentException if model is null
+   */
+  static GameResult playGame(BuildWorld model, int numPlayers, int bagCapacity) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    int numRoom = model.getRoomList().size();
+    for (int i = 0; i < numPlayers; i++) {
+      model.addPlayer("Computer " + i, i, false, bagCapacity, model.randomNum(numRoom));
+    }
+    int winnerId = -1;
+    int attempts = 0;
+    int hits = 0;
+    while (!model.isGameOver()) {
+      int playerId = model.getCurrentPlayer(model.getTurn()).getId();
+      String cmd = model.computerCommand(playerId);
+      ActionEvent event = doComputerTurn(model, playerId, cmd);
+      if ("attack".equals(cmd) || "poke".equals(cmd)) {
+        attempts++;
+        if (event != null && event.isDone()) {
+          hits++;
+        }
+        if (model.targetHealth() <= 0) {
+          winnerId = playerId;
+        }
+      }
+      model.nextTurn();
+      if (!model.isGameOver()) {
+        model.doMoveTarget();
+      }
+    }
+    return new GameResult(winnerId, model.getTurn() - 1, model.targetHealth(), attempts, hits);
+  }
+
+  /**
+   * Helper method to execute a computer command through the event methods, so no text
+   * is built. A command that cannot be done (picking with a full bag or moving out of
+   * a room without neighbors) still uses up the turn and returns null.
+   */
+  private static ActionEvent doComputerTurn(BuildWorld model, int playerId, String cmd) {
+    try {
+      switch (cmd) {
+        case "attack":
+          // the first item is the most damage item
+          return model.doAttackTarget(playerId, 0);
+        case "poke":
+          return model.doPokeTarget(playerId);
+        case "look":
+          return model.doLookAround(playerId);
+        case "move":
+          RoomGraph graph = model.getRoomGraph();
+          int currentRoomId = model.getPlayerList().get(playerId).getCurrentRoomId();
+          int degree = graph.degree(currentRoomId);
+          return model.doMove(playerId,
+              graph.neighbor(currentRoomId, model.randomNum(degree)));
+        case "pick":
+          return model.doPickItem(playerId, 0);
+        default:
+          return null;
+      }
+    } catch (IllegalArgumentException e) {
+      // the turn is lost, the same as a human trying an invalid action
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,177 @@
+package world;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Rebuilds games from the journals written by ActionJournal. The journal is read in
+ * one go and its records are applied to a new game of the same world through the
+ * methods that build no text, so replaying costs little more than playing the actions.
+ *
+ */
+public final class JournalReplayer {
+
+  private final WorldSpec spec;
+  private final byte[] data;
+  private int pos;
+
+  private JournalReplayer(WorldSpec spec, byte[] data) {
+    this.spec = spec;
+    this.data = data;
+  }
+
+  /**
+   * Rebuild the game recorded in a journal up to its last action.
+   *
+   * @param spec        the specification of the world the game was played in
+   * @param journalPath path of the journal file
+   * @return the game in the state it was when the journal was closed
+   * @throws IllegalArgumentException if an argument is null, the file cannot be read
+   *                                  or the journal is not a journal of this world
+   */
+  public static BuildWorldModel replay(WorldSpec spec, String journalPath) {
+    return replay(spec, journalPath, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Rebuild the game recorded in a journal up to the end of a turn, after the actions
+   * of that turn and before the next turn starts.
+   *
+   * @param spec        the specification of the world the game was played in
+   * @param journalPath path of the journal file
+   * @param lastTurn    the last turn to replay
+   * @return the game at the end of lastTurn, or at the end of the journal if the game
+   *         did not get that far
+   * @throws IllegalArgumentException if an argument is null, lastTurn is not positive,
+   *                                  the file cannot be read or the journal is not a
+   *                                  journal of this world
+   */
+  public static BuildWorldModel replay(WorldSpec spec, String journalPath, int lastTurn) {
+    if (spec == null || journalPath == null) {
+      throw new IllegalArgumentException("World specification and path cannot be null.");
+    }
+    if (lastTurn <= 0) {
+      throw new IllegalArgumentException("Turn has to be positive.");
+    }
+    return new JournalReplayer(spec, readFile(journalPath)).run(lastTurn);
+  }
+
+  /**
+   * Helper method to read the whole journal file.
+   */
+  private static byte[] readFile(String journalPath) {
+    try (FileChannel channel = FileChannel.open(Paths.get(journalPath),
+        StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Journal is too large.");
+      }
+      ByteBuffer buffer = ByteBuffer.allocate((int) size);
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        continue;
+      }
+      return buffer.array();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to read journal file.");
+    }
+  }
+
+  private BuildWorldModel run(int lastTurn) {
+    if (data.length < 4 || ByteBuffer.wrap(data).getInt() != ActionJournal.MAGIC) {
+      throw new IllegalArgumentException("File is not a journal.");
+    }
+    pos = 4;
+    if (pos >= data.length || data[pos++] != ActionJournal.START) {
+      throw new IllegalArgumentException("Journal is corrupted.");
+    }
+    BuildWorldModel model = new BuildWorldModel(spec, readVarint(), 0);
+    try {
+      while (pos < data.length) {
+        int code = data[pos];
+        if (code == ActionJournal.NEXT_TURN && model.getTurn() >= lastTurn) {
+          break;
+        }
+        pos++;
+        apply(model, code);
+      }
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Journal does not match the world: "
+          + e.getMessage());
+    }
+    return model;
+  }
+
+  /**
+   * Helper method to decode the arguments of a record and apply it to the game.
+   */
+  private void apply(BuildWorldModel model, int code) {
+    switch (code) {
+      case ActionJournal.ADD_PLAYER:
+        int id = readVarint();
+        boolean isHuman = readByte() != 0;
+        int bagCapacity = readVarint();
+        int roomId = readVarint();
+        int length = readVarint();
+        if (length > data.length - pos) {
+          throw new IllegalArgumentException("Journal is corrupted.");
+        }
+        String name = new String(data, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        model.addPlayer(name, id, isHuman, bagCapacity, roomId);
+        break;
+      case ActionJournal.MOVE:
+        model.doMove(readVarint(), readVarint());
+        break;
+      case ActionJournal.PICK_ITEM:
+        model.doPickItem(readVarint(), readVarint());
+        break;
+      case ActionJournal.ATTACK:
+        model.doAttackTarget(readVarint(), readVarint());
+        break;
+      case ActionJournal.POKE:
+        model.doPokeTarget(readVarint());
+        break;
+      case ActionJournal.MOVE_PET:
+        model.doMovePet(readVarint());
+        break;
+      case ActionJournal.MOVE_TARGET:
+        model.doMoveTarget();
+        break;
+      case ActionJournal.NEXT_TURN:
+        model.nextTurn();
+        break;
+      case ActionJournal.SET_MAX_TURN:
+        model.setMaxTurn(readVarint());
+        break;
+      default:
+        throw new IllegalArgumentException("Journal is corrupted.");
+    }
+  }
+
+  private int readByte() {
+    if (pos >= data.length) {
+      throw new IllegalArgumentException("Journal is corrupted.");
+    }
+    return data[pos++];
+  }
+
+  /**
+   * Helper method to read a non-negative int written 7 bits per byte.
+   */
+  private int readVarint() {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = readByte();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Journal is corrupted.");
+  }
+
+}
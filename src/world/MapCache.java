@@ -0,0 +1,269 @@
+package world;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
+
+/**
+ * A directory of map pictures encoded as PNG, each named by the map hash of its world.
+ * Encoding a map takes far longer than drawing it, so a map is encoded once and a
+ * world with the same rooms, loaded again or restarted, gets its picture by copying
+ * the cached file. Files are written to a temporary file and moved into place, so a
+ * cached map is always complete, and they are encoded on a background thread so the
+ * caller never waits on ImageIO. The directory keeps a bounded number of maps, the
+ * ones written or exported longest ago are deleted when a new map is cached.
+ *
+ * <p>A map is drawn whole in memory to be encoded, so maps of more than MAX_PIXELS
+ * pixels are refused. The view draws the tiles of such worlds as it needs them.
+ *
+ */
+public final class MapCache {
+
+  // one writer thread, so the same map is never encoded twice at once
+  private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "map-writer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Default number of maps kept in a cache directory.
+   */
+  public static final int MAX_MAPS = 16;
+
+  /**
+   * Number of pixels of the largest map that is encoded, a picture of 256 MB.
+   */
+  public static final long MAX_PIXELS = 1L << 26;
+
+  private final Path dir;
+  private final int maxMaps;
+
+  /**
+   * Constructs a cache of maps kept in a directory, which is created when the first
+   * map is written.
+   *
+   * @param dir     path of the directory
+   * @param maxMaps number of maps kept in the directory
+   * @throws IllegalArgumentException if dir is null or not a valid path, or maxMaps is
+   *                                  not positive
+   */
+  public MapCache(String dir, int maxMaps) {
+    if (dir == null) {
+      throw new IllegalArgumentException("Cache directory cannot be null.");
+    }
+    if (maxMaps < 1) {
+      throw new IllegalArgumentException("Cache must keep at least one map.");
+    }
+    this.maxMaps = maxMaps;
+    try {
+      this.dir = Paths.get(dir);
+    } catch (InvalidPathException e) {
+      throw new IllegalArgumentException("Invalid cache directory: " + dir);
+    }
+  }
+
+  /**
+   * Return the path the map of a world is cached at, whether it is cached or not.
+   *
+   * @param spec the specification of the world
+   * @return path of the cached map
+   * @throws IllegalArgumentException if spec is null
+   */
+  public Path getPath(WorldSpec spec) {
+    if (spec == null) {
+      throw new IllegalArgumentException("World specification cannot be null.");
+    }
+    return dir.resolve("map-" + spec.getMapHash() + ".png");
+  }
+
+  /**
+   * Return whether the map of a world is cached.
+   *
+   * @param spec the specification of the world
+   * @return true if the map is cached
+   * @throws IllegalArgumentException if spec is null
+   */
+  public boolean contains(WorldSpec spec) {
+    return Files.isRegularFile(getPath(spec));
+  }
+
+  /**
+   * Make sure the map of a world is cached, encoding it on a background thread if it is
+   * not.
+   *
+   * @param spec the specification of the world
+   * @return a future completed with the path of the cached map, completed with an
+   *         IllegalArgumentException if the map has more than MAX_PIXELS pixels, or
+   *         completed with an IllegalStateException if it cannot be written
+   * @throws IllegalArgumentException if spec is null
+   */
+  public CompletableFuture<Path> store(WorldSpec spec) {
+    Path file = getPath(spec);
+    if (Files.isRegularFile(file)) {
+      return CompletableFuture.completedFuture(file);
+    }
+    long width = spec.getCols() * 30L;
+    long height = spec.getRows() * 30L;
+    if (width * height > MAX_PIXELS) {
+      // refused before anything is drawn
+      CompletableFuture<Path> refused = new CompletableFuture<>();
+      refused.completeExceptionally(new IllegalArgumentException("Map of " + width + " x "
+          + height + " pixels is too large to be encoded as one picture."));
+      return refused;
+    }
+    return CompletableFuture.supplyAsync(() -> {
+      // an earlier task may have written it since
+      if (!Files.isRegularFile(file)) {
+        encode(spec, file);
+        evict(file);
+      }
+      return file;
+    }, WRITER);
+  }
+
+  /**
+   * Copy the map of a world to a file, replacing the file if it exists, encoding the
+   * map into the cache first if it is not cached. Nothing is done on the caller's
+   * thread.
+   *
+   * @param spec the specification of the world
+   * @param path path of the picture to write
+   * @return a future completed with the path of the picture, completed with an
+   *         IllegalArgumentException if the map is too large to be encoded, or
+   *         completed with an IllegalStateException if it cannot be written
+   * @throws IllegalArgumentException if an argument is null or path is not valid
+   */
+  public CompletableFuture<Path> export(WorldSpec spec, String path) {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null.");
+    }
+    Path target;
+    try {
+      target = Paths.get(path);
+    } catch (InvalidPathException e) {
+      throw new IllegalArgumentException("Invalid path: " + path);
+    }
+    return store(spec).thenApplyAsync(file -> {
+      Path temp = null;
+      try {
+        temp = createTemp(target);
+        Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+        move(temp, target);
+      } catch (IOException e) {
+        deleteTemp(temp);
+        throw new IllegalStateException("Unable to write map file.", e);
+      }
+      try {
+        // a map in use is the last to be evicted
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      } catch (IOException ignored) {
+        // the picture is written, the map is only evicted sooner
+      }
+      return target;
+    }, WRITER);
+  }
+
+  /**
+   * Helper method to encode the map of a world into a temporary file next to the cached
+   * file and move it into place. The map is drawn for this file only and not kept by
+   * the spec.
+   */
+  private static void encode(WorldSpec spec, Path file) {
+    Path temp = null;
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      temp = createTemp(file);
+      if (!ImageIO.write(spec.drawMap(ForkJoinPool.commonPool()), "png", temp.toFile())) {
+        throw new IOException("No PNG writer.");
+      }
+      move(temp, file);
+    } catch (IOException e) {
+      deleteTemp(temp);
+      throw new IllegalStateException("Unable to write cached map.", e);
+    }
+  }
+
+  /**
+   * Helper method to delete the maps written or exported longest ago, until the
+   * directory keeps no more than the maximum number of maps. The map just cached is
+   * kept.
+   */
+  private void evict(Path kept) {
+    List<Path> maps = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "map-*.png")) {
+      for (Path file : files) {
+        maps.add(file);
+      }
+    } catch (IOException e) {
+      // the cache is left larger than its bound until the next map is cached
+      return;
+    }
+    int extra = maps.size() - maxMaps;
+    if (extra <= 0) {
+      return;
+    }
+    long[] times = new long[maps.size()];
+    Integer[] order = new Integer[times.length];
+    for (int i = 0; i < times.length; i++) {
+      try {
+        times[i] = Files.getLastModifiedTime(maps.get(i)).toMillis();
+      } catch (IOException e) {
+        // deleted first
+        times[i] = 0;
+      }
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(times[a], times[b]));
+    for (int i = 0; i < order.length && extra > 0; i++) {
+      Path file = maps.get(order[i]);
+      if (!file.equals(kept)) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+          // a map that cannot be deleted stays cached
+        }
+        extra--;
+      }
+    }
+  }
+
+  private static void deleteTemp(Path temp) {
+    if (temp != null) {
+      try {
+        Files.deleteIfExists(temp);
+      } catch (IOException ignored) {
+        // the write already failed, the temporary file is left behind
+      }
+    }
+  }
+
+  private static Path createTemp(Path file) throws IOException {
+    return Files.createTempFile(file.toAbsolutePath().getParent(),
+        file.getFileName().toString(), ".tmp");
+  }
+
+  private static void move(Path temp, Path file) throws IOException {
+    try {
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+}
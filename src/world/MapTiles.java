@@ -0,0 +1,218 @@
+package world;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The map of a world cut into square tiles that are drawn when they are first asked
+ * for. Drawn tiles are kept in a cache holding at most a fixed number of tiles, the
+ * tile used least recently is dropped when another one is needed, so the memory used
+ * depends on the tile size and the cache size and not on the size of the world. Tiles
+ * on the right and bottom edges are cut to the size of the map.
+ *
+ */
+public final class MapTiles {
+
+  /**
+   * The width and height of a tile in pixels used by WorldSpec.
+   */
+  public static final int TILE_SIZE = 256;
+
+  /**
+   * The number of tiles kept by the cache used by WorldSpec, about 16 MB of tiles.
+   */
+  public static final int MAX_TILES = 64;
+
+  private final WorldSpec spec;
+  private final int tileSize;
+  private final int width;
+  private final int height;
+  private final int maxTiles;
+  private final Map<Long, BufferedImage> cache;
+  private long drawn;
+
+  /**
+   * Constructs the tiles of the map of a world.
+   *
+   * @param spec     the specification of the world
+   * @param tileSize width and height of a tile in pixels
+   * @param maxTiles number of tiles kept by the cache
+   * @throws IllegalArgumentException if spec is null, or tile size or max tiles is not
+   *                                  positive
+   */
+  public MapTiles(WorldSpec spec, int tileSize, int maxTiles) {
+    if (spec == null) {
+      throw new IllegalArgumentException("World specification cannot be null.");
+    }
+    if (tileSize <= 0 || maxTiles <= 0) {
+      throw new IllegalArgumentException("Tile size and number of tiles have to be positive.");
+    }
+    this.spec = spec;
+    this.tileSize = tileSize;
+    this.width = spec.getCols() * 30;
+    this.height = spec.getRows() * 30;
+    this.maxTiles = maxTiles;
+    this.cache = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+        return size() > maxTiles;
+      }
+    };
+  }
+
+  /**
+   * Return the width of the map in pixels.
+   *
+   * @return width of the map
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Return the height of the map in pixels.
+   *
+   * @return height of the map
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Return the width and height of a tile in pixels.
+   *
+   * @return size of a tile
+   */
+  public int getTileSize() {
+    return tileSize;
+  }
+
+  /**
+   * Return the number of columns of tiles.
+   *
+   * @return number of tiles across the map
+   */
+  public int getNumTileCols() {
+    return (width + tileSize - 1) / tileSize;
+  }
+
+  /**
+   * Return the number of rows of tiles.
+   *
+   * @return number of tiles down the map
+   */
+  public int getNumTileRows() {
+    return (height + tileSize - 1) / tileSize;
+  }
+
+  /**
+   * Return a tile of the map, drawing it if it is not in the cache. The tile is shared
+   * and must not be changed.
+   *
+   * @param tileCol column of the tile
+   * @param tileRow row of the tile
+   * @return the tile
+   * @throws IllegalArgumentException if the tile is outside the map
+   */
+  public synchronized BufferedImage getTile(int tileCol, int tileRow) {
+    if (tileCol < 0 || tileRow < 0 || tileCol >= getNumTileCols()
+        || tileRow >= getNumTileRows()) {
+      throw new IllegalArgumentException("Tile is outside the map.");
+    }
+    long key = key(tileCol, tileRow);
+    BufferedImage tile = cache.get(key);
+    if (tile == null) {
+      tile = drawTile(tileCol, tileRow);
+      drawn++;
+      cache.put(key, tile);
+    }
+    return tile;
+  }
+
+  /**
+   * Draw the tiles of a block that are not in the cache, in parallel, so the tiles a
+   * viewport is about to show are ready together. The parts of the block outside the
+   * map are skipped, and no more tiles are drawn than the cache holds.
+   *
+   * @param fromCol first column of the block
+   * @param fromRow first row of the block
+   * @param toCol   last column of the block
+   * @param toRow   last row of the block
+   */
+  public void prepare(int fromCol, int fromRow, int toCol, int toRow) {
+    List<int[]> missing = new ArrayList<>();
+    synchronized (this) {
+      for (int row = Math.max(fromRow, 0); row <= Math.min(toRow, getNumTileRows() - 1);
+          row++) {
+        for (int col = Math.max(fromCol, 0); col <= Math.min(toCol, getNumTileCols() - 1)
+            && missing.size() < maxTiles; col++) {
+          if (!cache.containsKey(key(col, row))) {
+            missing.add(new int[] {col, row});
+          }
+        }
+      }
+    }
+    if (missing.isEmpty()) {
+      return;
+    }
+    // tiles are drawn outside the lock, getTile keeps serving cached tiles meanwhile
+    BufferedImage[] tiles = new BufferedImage[missing.size()];
+    IntStream.range(0, tiles.length).parallel()
+        .forEach(i -> tiles[i] = drawTile(missing.get(i)[0], missing.get(i)[1]));
+    synchronized (this) {
+      for (int i = 0; i < tiles.length; i++) {
+        long key = key(missing.get(i)[0], missing.get(i)[1]);
+        if (!cache.containsKey(key)) {
+          cache.put(key, tiles[i]);
+          drawn++;
+        }
+      }
+    }
+  }
+
+  private static long key(int tileCol, int tileRow) {
+    return (long) tileRow << 32 | tileCol;
+  }
+
+  /**
+   * Helper method to draw a tile onto a new picture, cut at the edges of the map.
+   */
+  private BufferedImage drawTile(int tileCol, int tileRow) {
+    int x = tileCol * tileSize;
+    int y = tileRow * tileSize;
+    int w = Math.min(tileSize, width - x);
+    int h = Math.min(tileSize, height - y);
+    BufferedImage tile = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2d = tile.createGraphics();
+    spec.drawRegion(g2d, x, y, w, h);
+    g2d.dispose();
+    return tile;
+  }
+
+  /**
+   * Return the number of tiles in the cache.
+   *
+   * @return number of cached tiles
+   */
+  public synchronized int getNumCachedTiles() {
+    return cache.size();
+  }
+
+  /**
+   * Return the number of tiles drawn so far and kept in the cache, counting tiles drawn
+   * again after they were dropped from the cache.
+   *
+   * @return number of tiles drawn
+   */
+  public synchronized long getNumDrawnTiles() {
+    return drawn;
+  }
+
+}
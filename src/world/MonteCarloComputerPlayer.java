@@ -0,0 +1,312 @@
+package world;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Computer player that chooses its action with flat Monte Carlo search. Every action
+ * the player can do now is tried in simulated futures where all players then act like
+ * computerCommand, and the actions are chosen by the UCB1 rule so the promising ones
+ * are tried more often. Only the actions of this turn are searched, no tree is built
+ * below them and every rollout after the first action is random. A rollout is worth 1
+ * if the player kills the target, 0 if another player does, and otherwise half of the
+ * share of target's health the player's own attacks and pokes took away. The action
+ * tried most often is chosen.
+ *
+ * <p>Rollouts run on worker threads until the time budget of the turn is used up,
+ * every worker searches its own copy of the game built from the WorldSpec and the
+ * snapshot of the game, and the counts of all workers are added up at the end. The
+ * workers run on a pool owned by the player and kept for all its turns. The random
+ * streams of the workers are split off one stream seeded from the seed and the turn.
+ *
+ */
+public class MonteCarloComputerPlayer implements ComputerPlayer {
+
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final long budgetNanos;
+  private final int threads;
+  private final int maxRollouts;
+  private final int horizon;
+  private final long seed;
+  // null when the search runs on the calling thread, the workers are daemon threads
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a player that searches for the whole time budget of every turn.
+   *
+   * @param budgetMillis time budget of a turn in milliseconds
+   * @param threads      number of worker threads
+   * @param seed         seed of the rollouts
+   * @throws IllegalArgumentException if budget or threads is not positive
+   */
+  public MonteCarloComputerPlayer(long budgetMillis, int threads, long seed) {
+    this(budgetMillis, threads, Integer.MAX_VALUE, 0, seed);
+  }
+
+  /**
+   * Constructs a player that stops searching when the time budget is used up or when
+   * maxRollouts rollouts were played. With a budget that is never used up the choice
+   * only depends on the seed, the game and the number of threads.
+   *
+   * @param budgetMillis time budget of a turn in milliseconds
+   * @param threads      number of worker threads
+   * @param maxRollouts  max number of rollouts of a turn
+   * @param horizon      max number of turns of a rollout, 0 plays until the game is
+   *                     over
+   * @param seed         seed of the rollouts
+   * @throws IllegalArgumentException if budget, threads or maxRollouts is not positive,
+   *                                  or horizon is negative
+   */
+  public MonteCarloComputerPlayer(long budgetMillis, int threads, int maxRollouts, int horizon,
+      long seed) {
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("Time budget has to be positive.");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads has to be positive.");
+    }
+    if (maxRollouts <= 0) {
+      throw new IllegalArgumentException("Number of rollouts has to be positive.");
+    }
+    if (horizon < 0) {
+      throw new IllegalArgumentException("Horizon cannot be negative.");
+    }
+    this.budgetNanos = budgetMillis * 1_000_000L;
+    this.threads = threads;
+    this.maxRollouts = maxRollouts;
+    this.horizon = horizon;
+    this.seed = seed;
+    this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+  }
+
+  @Override
+  public ComputerAction chooseAction(BuildWorld model, int playerId) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    if (playerId < 0 || playerId >= model.getPlayerList().size()) {
+      throw new IllegalArgumentException("Invalid player id.");
+    }
+    List<ComputerAction> actions = legalActions(model, playerId);
+    if (actions.size() == 1) {
+      return actions.get(0);
+    }
+    WorldSpec spec = model.getSpec();
+    GameState root = model.snapshot();
+    long deadline = System.nanoTime() + budgetNanos;
+    SplittableRandom turnRandom = new SplittableRandom(
+        seed ^ (model.getTurn() * 0x9E3779B97F4A7C15L));
+    int[] visits = new int[actions.size()];
+    double[] rewards = new double[actions.size()];
+    if (threads == 1) {
+      new Search(spec, model.getMaxTurn(), root, playerId, actions, deadline, maxRollouts,
+          turnRandom).call().addTo(visits, rewards);
+    } else {
+      List<Search> searches = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        int quota = maxRollouts / threads + (i < maxRollouts % threads ? 1 : 0);
+        searches.add(new Search(spec, model.getMaxTurn(), root, playerId, actions, deadline,
+            Math.max(quota, 1), turnRandom.split()));
+      }
+      try {
+        for (Future<Search> future : pool.invokeAll(searches)) {
+          future.get().addTo(visits, rewards);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Search was interrupted.");
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Search failed.", e.getCause());
+      }
+    }
+    int best = 0;
+    for (int i = 1; i < actions.size(); i++) {
+      if (visits[i] > visits[best] || (visits[i] == visits[best]
+          && rewards[i] * visits[best] > rewards[best] * visits[i])) {
+        best = i;
+      }
+    }
+    return actions.get(best);
+  }
+
+  /**
+   * Return the actions worth trying for a player: looking around, which changes
+   * nothing, moving to every neighbor, picking every item if the bag is not full,
+   * attacking with the most damage item or poking when the target is in the room,
+   * and hiding with the pet in the room of the player.
+   *
+   * @param model    the game
+   * @param playerId id of the player
+   * @return the actions, never empty
+   * @throws IllegalArgumentException if model is null or player id is invalid
+   */
+  public static List<ComputerAction> legalActions(BuildWorld model, int playerId) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    if (playerId < 0 || playerId >= model.getPlayerList().size()) {
+      throw new IllegalArgumentException("Invalid player id.");
+    }
+    Player player = model.getPlayerList().get(playerId);
+    int roomId = player.getCurrentRoomId();
+    List<ComputerAction> actions = new ArrayList<>();
+    actions.add(new ComputerAction(ActionType.LOOK_AROUND, 0));
+    RoomGraph graph = model.getRoomGraph();
+    for (int i = 0; i < graph.degree(roomId); i++) {
+      actions.add(new ComputerAction(ActionType.MOVE, graph.neighbor(roomId, i)));
+    }
+    if (player.getItemList().size() < player.getBagCapacity()) {
+      for (int i = 0; i < model.getRoomList().get(roomId).getItems().size(); i++) {
+        actions.add(new ComputerAction(ActionType.PICK_ITEM, i));
+      }
+    }
+    if (model.getTargetCharacter().getCurrentRoomId() == roomId) {
+      if (!player.getItemList().isEmpty()) {
+        actions.add(new ComputerAction(ActionType.ATTACK, 0));
+      }
+      actions.add(new ComputerAction(ActionType.POKE, 0));
+    }
+    if (model.getPet().getCurrentRoomId() != roomId) {
+      actions.add(new ComputerAction(ActionType.MOVE_PET, roomId));
+    }
+    return actions;
+  }
+
+  /**
+   * The rollouts of one worker, played on its own copy of the game.
+   */
+  private class Search implements Callable<Search> {
+
+    private final WorldSpec spec;
+    private final int maxTurn;
+    private final GameState root;
+    private final int playerId;
+    private final List<ComputerAction> actions;
+    private final long deadline;
+    private final int quota;
+    private final SplittableRandom random;
+    private final int[] visits;
+    private final double[] rewards;
+
+    Search(WorldSpec spec, int maxTurn, GameState root, int playerId,
+        List<ComputerAction> actions, long deadline, int quota, SplittableRandom random) {
+      this.spec = spec;
+      this.maxTurn = maxTurn;
+      this.root = root;
+      this.playerId = playerId;
+      this.actions = actions;
+      this.deadline = deadline;
+      this.quota = quota;
+      this.random = random;
+      this.visits = new int[actions.size()];
+      this.rewards = new double[actions.size()];
+    }
+
+    @Override
+    public Search call() {
+      BuildWorld game = new BuildWorldModel(spec, maxTurn, random.nextLong());
+      int numActions = actions.size();
+      // every action is tried once even when the budget is used up
+      for (int n = 0; n < quota && (n < numActions || System.nanoTime() < deadline); n++) {
+        int action = n < numActions ? n : select(n);
+        game.restore(root);
+        visits[action]++;
+        rewards[action] += rollout(game, actions.get(action));
+      }
+      return this;
+    }
+
+    /**
+     * Helper method to choose the action with the highest UCB1 score.
+     */
+    private int select(int total) {
+      double logTotal = Math.log(total);
+      int best = 0;
+      double bestScore = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < visits.length; i++) {
+        double score = rewards[i] / visits[i] + EXPLORATION * Math.sqrt(logTotal / visits[i]);
+        if (score > bestScore) {
+          bestScore = score;
+          best = i;
+        }
+      }
+      return best;
+    }
+
+    /**
+     * Helper method to play the action and then the rest of the game, or the number of
+     * turns of the horizon, and return what it was worth to the player.
+     */
+    private double rollout(BuildWorld game, ComputerAction first) {
+      int startHealth = game.targetHealth();
+      int damage = 0;
+      int actor = playerId;
+      int health = startHealth;
+      ActionEvent event = first.apply(game, actor);
+      for (int turns = 0; ; turns++) {
+        // only the damage of this player counts, not what the others did meanwhile
+        if (actor == playerId && event != null && event.isDone()
+            && (event.getType() == ActionType.ATTACK || event.getType() == ActionType.POKE)) {
+          damage += health - event.getTargetHealth();
+        }
+        if (game.targetHealth() <= 0) {
+          return actor == playerId ? 1 : 0;
+        }
+        game.nextTurn();
+        if (game.isGameOver() || (horizon > 0 && turns >= horizon)) {
+          break;
+        }
+        game.doMoveTarget();
+        actor = game.getCurrentPlayer(game.getTurn()).getId();
+        health = game.targetHealth();
+        event = randomAction(game, actor);
+      }
+      return 0.5 * damage / startHealth;
+    }
+
+    /**
+     * Helper method to play a turn the way computerCommand chooses: attack when unseen
+     * in the room of the target, otherwise look, move or pick at random.
+     */
+    private ActionEvent randomAction(BuildWorld game, int actor) {
+      Player player = game.getPlayerList().get(actor);
+      int roomId = player.getCurrentRoomId();
+      if (game.getTargetCharacter().getCurrentRoomId() == roomId && !game.canBeSeen(player)) {
+        if (!player.getItemList().isEmpty()) {
+          return game.doAttackTarget(actor, 0);
+        }
+        return game.doPokeTarget(actor);
+      }
+      int choice = random.nextInt(3);
+      if (choice == 2 && (game.getRoomList().get(roomId).getItems().isEmpty()
+          || player.getItemList().size() == player.getBagCapacity())) {
+        choice = random.nextInt(2);
+      }
+      RoomGraph graph = game.getRoomGraph();
+      if (choice == 1 && graph.degree(roomId) > 0) {
+        return game.doMove(actor, graph.neighbor(roomId, random.nextInt(graph.degree(roomId))));
+      }
+      if (choice == 2) {
+        return game.doPickItem(actor, 0);
+      }
+      return game.doLookAround(actor);
+    }
+
+    /**
+     * Helper method to add the counts of this worker to the totals.
+     */
+    private void addTo(int[] totalVisits, double[] totalRewards) {
+      for (int i = 0; i < visits.length; i++) {
+        totalVisits[i] += visits[i];
+        totalRewards[i] += rewards[i];
+      }
+    }
+  }
+
+}
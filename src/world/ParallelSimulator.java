@@ -0,0 +1,121 @@
+package world;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulator that shards games across the threads of a ForkJoinPool. The WorldSpec
+ * is read once and shared, every game is played on its own model owned
+ * by the worker thread playing it, and the reports of all shards are merged at the
+ * end. Every game is seeded from the seed and its index the same way as in
+ * HeadlessSimulator, so the outcome does not depend on the number of threads and
+ * matches the serial simulator.
+ *
+ */
+public class ParallelSimulator implements Simulator {
+
+  private static final int MAX_GAMES_PER_SHARD = 64;
+
+  private final String filePath;
+  private final int maxTurn;
+  private final int numPlayers;
+  private final int bagCapacity;
+  private final long seed;
+  private final int threads;
+
+  /**
+   * Constructs a simulator for the world specification in the given file.
+   * 
+   * @param filePath    path of the world specification
+   * @param maxTurn     max number of turns of every game
+   * @param numPlayers  number of computer players in every game
+   * @param bagCapacity number of items every player can carry
+   * @param seed        seed used to place players and choose rooms to move to
+   * @param threads     number of worker threads
+   * @throws IllegalArgumentException if any argument is invalid
+   */
+  public ParallelSimulator(String filePath, int maxTurn, int numPlayers, int bagCapacity,
+      long seed, int threads) {
+    if (filePath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    if (maxTurn <= 0) {
+      throw new IllegalArgumentException("Max turn has to be positive.");
+    }
+    if (numPlayers <= 0) {
+      throw new IllegalArgumentException("Number of players has to be positive.");
+    }
+    if (bagCapacity < 0) {
+      throw new IllegalArgumentException("Bag capacity cannot be negative.");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads has to be positive.");
+    }
+    this.filePath = filePath;
+    this.maxTurn = maxTurn;
+    this.numPlayers = numPlayers;
+    this.bagCapacity = bagCapacity;
+    this.seed = seed;
+    this.threads = threads;
+  }
+
+  @Override
+  public SimulationReport run(int numGames) {
+    if (numGames <= 0) {
+      throw new IllegalArgumentException("Number of games has to be positive.");
+    }
+    WorldSpec spec = WorldSpec.fromFile(filePath);
+    int shardSize = Math.max(1, Math.min(MAX_GAMES_PER_SHARD, numGames / (threads * 4)));
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    long start = System.nanoTime();
+    SimulationReport report;
+    try {
+      report = pool.invoke(new Shard(spec, 0, numGames, shardSize));
+    } finally {
+      pool.shutdown();
+    }
+    report.setElapsedNanos(System.nanoTime() - start);
+    return report;
+  }
+
+  /**
+   * A range of games, split in halves until it is small enough to be played by one
+   * worker.
+   */
+  private class Shard extends RecursiveTask<SimulationReport> {
+
+    private static final long serialVersionUID = 4386517322380734905L;
+    private final WorldSpec spec;
+    private final int from;
+    private final int to;
+    private final int shardSize;
+
+    Shard(WorldSpec spec, int from, int to, int shardSize) {
+      this.spec = spec;
+      this.from = from;
+      this.to = to;
+      this.shardSize = shardSize;
+    }
+
+    @Override
+    protected SimulationReport compute() {
+      if (to - from <= shardSize) {
+        SimulationReport report = new SimulationReport(numPlayers);
+        for (int i = from; i < to; i++) {
+          BuildWorldModel model = new BuildWorldModel(spec, maxTurn,
+              HeadlessSimulator.gameSeed(seed, i));
+          report.add(HeadlessSimulator.playGame(model, numPlayers, bagCapacity));
+        }
+        return report;
+      }
+      int mid = (from + to) >>> 1;
+      Shard left = new Shard(spec, from, mid, shardSize);
+      left.fork();
+      SimulationReport report = new Shard(spec, mid, to, shardSize).compute();
+      SimulationReport merged = left.join();
+      merged.merge(report);
+      return merged;
+    }
+  }
+
+}
@@ -45,7 +45,8 @@ public interface Player {
   void pickItem(Item item);
   
   /**
-   * Return the list of items that Player hold.
+   * Return the list of items that Player hold, as a read only view that follows
+   * the items picked and used later.
    * 
    * @return list of items that Player hold
    */
@@ -1,6 +1,7 @@
 package world;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -14,6 +15,7 @@ public class PlayerCharacter implements Player {
   private int id;
   private int currentRoomId;
   private List<Item> itemsInBag;
+  private List<Item> itemsView;
   private boolean isHuman;
   private int bagCapacity;
   
@@ -46,6 +48,7 @@ public class PlayerCharacter implements Player {
     this.bagCapacity = bagCapacity;
     this.currentRoomId = currentRoomId;
     itemsInBag = new ArrayList<>();
+    itemsView = Collections.unmodifiableList(itemsInBag);
   }
 
   @Override
@@ -117,13 +120,24 @@ public class PlayerCharacter implements Player {
     
   }
 
+  /**
+   * Replace the items in the bag by a range of items that is already sorted, used to
+   * restore a game state.
+   * 
+   * @param items array holding the items
+   * @param from  index of the first item
+   * @param to    index after the last item
+   */
+  void setItems(Item[] items, int from, int to) {
+    itemsInBag.clear();
+    for (int i = from; i < to; i++) {
+      itemsInBag.add(items[i]);
+    }
+  }
+
   @Override
   public List<Item> getItemList() {
-    List<Item> temp = new ArrayList<>();
-    for (int i = 0; i < itemsInBag.size(); i++) {
-      temp.add(itemsInBag.get(i));
-    }
-    return temp;
+    return itemsView;
   }
   
   @Override
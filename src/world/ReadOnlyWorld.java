@@ -1,6 +1,5 @@
 package world;
 
-import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Random;
 
@@ -40,11 +39,11 @@ public interface ReadOnlyWorld {
   Boolean hasItem(int playerId);
   
   /**
-   * Get the map in bufferedImage format from model.
+   * Get the tiles of the map, drawn as they are needed.
    * 
-   * @return the bufferedImage map
+   * @return the tiles of the map
    */
-  BufferedImage getMap();
+  MapTiles getMapTiles();
   
   /**
    * Generate a command for computer controlled player.
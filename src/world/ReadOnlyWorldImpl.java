@@ -1,6 +1,5 @@
 package world;
 
-import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Random;
 
@@ -44,8 +43,8 @@ public class ReadOnlyWorldImpl implements ReadOnlyWorld{
   }
 
   @Override
-  public BufferedImage getMap() {
-    return model.getMap();
+  public MapTiles getMapTiles() {
+    return model.getMapTiles();
   }
   
   @Override
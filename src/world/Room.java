@@ -1,6 +1,7 @@
 package world;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 
@@ -18,6 +19,10 @@ public class Room implements Space {
   private List<Item> items;
   private List<Space> neighbors;
   private List<Player> players;
+  // read only views handed out by the getters, so reading does not copy the lists
+  private final List<Item> itemsView;
+  private final List<Space> neighborsView;
+  private final List<Player> playersView;
   
   /**
    * Constructs a Space in terms of its name and coordinates of the two vertices.
@@ -55,6 +60,9 @@ public class Room implements Space {
     items = new ArrayList<>();
     neighbors = new ArrayList<>();
     players = new ArrayList<>();
+    itemsView = Collections.unmodifiableList(items);
+    neighborsView = Collections.unmodifiableList(neighbors);
+    playersView = Collections.unmodifiableList(players);
   }
   
   @Override
@@ -87,6 +95,27 @@ public class Room implements Space {
     }
   }
   
+  /**
+   * Add a room that is known to be a neighbor to the end of the neighbor list.
+   * 
+   * @param room the neighbor room
+   * @throws IllegalArgumentException if room is null
+   */
+  void addNeighbor(Room room) {
+    if (room == null) {
+      throw new IllegalArgumentException("Space cannot be null.");
+    }
+    neighbors.add(room);
+  }
+  
+  /**
+   * Remove every item and player from the room, used to restore a game state.
+   */
+  void clear() {
+    items.clear();
+    players.clear();
+  }
+  
   @Override
   public String getName() {
     final String res = this.name;
@@ -118,11 +147,7 @@ public class Room implements Space {
     if (items == null) {
       throw new IllegalArgumentException("List is empty.");
     }
-    List<Item> temp = new ArrayList<>();
-    for (int i = 0; i < items.size(); i++) {
-      temp.add(items.get(i));
-    }
-    return temp;
+    return itemsView;
   }
   
   @Override
@@ -130,11 +155,7 @@ public class Room implements Space {
     if (players == null) {
       throw new IllegalArgumentException("List is empty.");
     }
-    List<Player> temp = new ArrayList<>();
-    for (int i = 0; i < players.size(); i++) {
-      temp.add(players.get(i));
-    }
-    return temp;
+    return playersView;
   }
   
   @Override
@@ -184,11 +205,7 @@ public class Room implements Space {
 
   @Override
   public List<Space> getNeighbors() {
-    List<Space> temp = new ArrayList<>();
-    for (int i = 0; i < neighbors.size(); i++) {
-      temp.add(neighbors.get(i));
-    }
-    return temp;
+    return neighborsView;
   }
   
   @Override
@@ -0,0 +1,233 @@
+package world;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Shortest path lengths and next hops between every pair of rooms of a room graph.
+ * Every room has a row holding, for all other rooms, how many moves away it is and
+ * which neighbor to move to in order to get closer. A row is computed by one BFS from
+ * its room. Distances are stored in bytes when they all fit, in shorts when they fit
+ * and in ints otherwise, and next hops as the index of the neighbor, in bytes when no
+ * room has more than 255 neighbors.
+ *
+ * <p>All rows are computed at once, with one BFS per room run in parallel, unless the
+ * world is large or lazy mode is asked for, in which case a row is computed the first
+ * time a path to its room is asked for. Once computed a row is kept and never changes,
+ * so queries are answered in constant time and the table can be shared by threads.
+ *
+ */
+public final class RoomDistances {
+
+  /**
+   * The largest number of rooms whose rows are all computed when the table is built.
+   */
+  public static final int EAGER_LIMIT = 4096;
+
+  private final RoomGraph graph;
+  private final int numRoom;
+  private final boolean byteHops;
+  private final Row[] rows;
+
+  /**
+   * Constructs the table of a room graph, computing all rows in parallel when the
+   * graph has at most EAGER_LIMIT rooms.
+   *
+   * @param graph the room graph
+   * @throws IllegalArgumentException if graph is null
+   */
+  public RoomDistances(RoomGraph graph) {
+    this(graph, graph != null && graph.getNumRoom() > EAGER_LIMIT);
+  }
+
+  /**
+   * Constructs the table of a room graph.
+   *
+   * @param graph the room graph
+   * @param lazy  true to compute a row when it is first needed, false to compute all
+   *              rows now
+   * @throws IllegalArgumentException if graph is null
+   */
+  public RoomDistances(RoomGraph graph, boolean lazy) {
+    if (graph == null) {
+      throw new IllegalArgumentException("Graph cannot be null.");
+    }
+    this.graph = graph;
+    this.numRoom = graph.getNumRoom();
+    int maxDegree = 0;
+    for (int i = 0; i < numRoom; i++) {
+      maxDegree = Math.max(maxDegree, graph.degree(i));
+    }
+    this.byteHops = maxDegree <= 0xFF;
+    this.rows = new Row[numRoom];
+    if (!lazy) {
+      IntStream.range(0, numRoom).parallel().forEach(i -> rows[i] = computeRow(i));
+    }
+  }
+
+  /**
+   * Return the number of moves of a shortest path between two rooms.
+   *
+   * @param fromRoomId id of the room to start from
+   * @param toRoomId   id of the room to reach
+   * @return the number of moves, -1 if the room cannot be reached
+   * @throws IllegalArgumentException if a room id does not exist
+   */
+  public int distance(int fromRoomId, int toRoomId) {
+    checkRoomId(fromRoomId);
+    return row(toRoomId).distance(fromRoomId);
+  }
+
+  /**
+   * Return the neighbor to move to from a room to get one move closer to another
+   * room. Among several such neighbors the one with the smallest id is returned.
+   *
+   * @param fromRoomId id of the room to start from
+   * @param toRoomId   id of the room to reach
+   * @return id of the neighbor, fromRoomId if both rooms are the same, -1 if the room
+   *         cannot be reached
+   * @throws IllegalArgumentException if a room id does not exist
+   */
+  public int nextHop(int fromRoomId, int toRoomId) {
+    checkRoomId(fromRoomId);
+    Row row = row(toRoomId);
+    if (fromRoomId == toRoomId) {
+      return fromRoomId;
+    }
+    int index = row.hop(fromRoomId);
+    return index < 0 ? -1 : graph.neighbor(fromRoomId, index);
+  }
+
+  /**
+   * Return whether the rows of every room have been computed.
+   *
+   * @return true if every row is computed
+   */
+  public boolean isComplete() {
+    for (int i = 0; i < numRoom; i++) {
+      if (rows[i] == null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Helper method to return the row of a room, computing it if needed. Two threads
+   * may compute the same row at once, they compute the same values and either row is
+   * kept, rows are immutable so they are safely published through the array.
+   */
+  private Row row(int roomId) {
+    checkRoomId(roomId);
+    Row row = rows[roomId];
+    if (row == null) {
+      row = computeRow(roomId);
+      rows[roomId] = row;
+    }
+    return row;
+  }
+
+  /**
+   * Helper method to run a BFS from a room and pack the distances to it and the next
+   * hops towards it.
+   */
+  private Row computeRow(int roomId) {
+    int[] dist = new int[numRoom];
+    int[] queue = new int[numRoom];
+    Arrays.fill(dist, -1);
+    dist[roomId] = 0;
+    queue[0] = roomId;
+    int head = 0;
+    int tail = 1;
+    int maxDist = 0;
+    while (head < tail) {
+      int room = queue[head++];
+      for (int i = 0; i < graph.degree(room); i++) {
+        int next = graph.neighbor(room, i);
+        if (dist[next] < 0) {
+          dist[next] = dist[room] + 1;
+          maxDist = dist[next];
+          queue[tail++] = next;
+        }
+      }
+    }
+    // the neighbor one move closer is the hop, the graph is undirected
+    int[] hop = new int[numRoom];
+    for (int room = 0; room < numRoom; room++) {
+      hop[room] = -1;
+      if (dist[room] <= 0) {
+        continue;
+      }
+      for (int i = 0; i < graph.degree(room); i++) {
+        if (dist[graph.neighbor(room, i)] == dist[room] - 1) {
+          hop[room] = i;
+          break;
+        }
+      }
+    }
+    return new Row(dist, maxDist, hop, byteHops);
+  }
+
+  private void checkRoomId(int roomId) {
+    if (roomId < 0 || roomId >= numRoom) {
+      throw new IllegalArgumentException("Room id does not exist.");
+    }
+  }
+
+  /**
+   * The distances to one room and next hops towards it from all rooms, in the
+   * smallest type that holds them. The all-ones value means the room cannot be
+   * reached.
+   */
+  private static final class Row {
+
+    private final byte[] dist8;
+    private final short[] dist16;
+    private final int[] dist32;
+    private final byte[] hop8;
+    private final short[] hop16;
+
+    Row(int[] dist, int maxDist, int[] hop, boolean byteHop) {
+      int n = dist.length;
+      dist8 = maxDist < 0xFF ? new byte[n] : null;
+      dist16 = dist8 == null && maxDist < 0xFFFF ? new short[n] : null;
+      dist32 = dist8 == null && dist16 == null ? dist : null;
+      hop8 = byteHop ? new byte[n] : null;
+      hop16 = byteHop ? null : new short[n];
+      for (int i = 0; i < n; i++) {
+        if (dist8 != null) {
+          dist8[i] = (byte) dist[i];
+        } else if (dist16 != null) {
+          dist16[i] = (short) dist[i];
+        }
+        if (byteHop) {
+          hop8[i] = (byte) hop[i];
+        } else {
+          hop16[i] = (short) hop[i];
+        }
+      }
+    }
+
+    int distance(int roomId) {
+      if (dist8 != null) {
+        int d = dist8[roomId] & 0xFF;
+        return d == 0xFF ? -1 : d;
+      }
+      if (dist16 != null) {
+        int d = dist16[roomId] & 0xFFFF;
+        return d == 0xFFFF ? -1 : d;
+      }
+      return dist32[roomId];
+    }
+
+    int hop(int roomId) {
+      if (hop8 != null) {
+        int h = hop8[roomId] & 0xFF;
+        return h == 0xFF ? -1 : h;
+      }
+      int h = hop16[roomId] & 0xFFFF;
+      return h == 0xFFFF ? -1 : h;
+    }
+  }
+
+}
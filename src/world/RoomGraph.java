@@ -0,0 +1,289 @@
+package world;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The neighbors of every room stored in compressed sparse row form: the neighbor ids
+ * of all rooms are kept one after another in a single array, and the neighbors of
+ * room i start at offsets[i] and end before offsets[i + 1]. Reading neighbors does
+ * not allocate, and the graph never changes once built, so it can be shared by any
+ * number of games and threads. The DFS tours of the pet are derived from the graph,
+ * so each is computed once per start room and kept for as long as the graph lives.
+ *
+ */
+public final class RoomGraph {
+
+  private final int[] offsets;
+  private final int[] targets;
+  private final Map<Integer, int[]> tours;
+
+  /**
+   * Constructs the graph from the neighbor ids of every room, the neighbors of every
+   * room have to be in increasing order.
+   *
+   * @param neighbors neighbor ids of every room
+   * @throws IllegalArgumentException if neighbors is null or a neighbor does not exist
+   */
+  RoomGraph(int[][] neighbors) {
+    if (neighbors == null) {
+      throw new IllegalArgumentException("Neighbors cannot be null.");
+    }
+    offsets = new int[neighbors.length + 1];
+    for (int i = 0; i < neighbors.length; i++) {
+      offsets[i + 1] = offsets[i] + neighbors[i].length;
+    }
+    tours = new ConcurrentHashMap<>();
+    targets = new int[offsets[neighbors.length]];
+    for (int i = 0; i < neighbors.length; i++) {
+      for (int j = 0; j < neighbors[i].length; j++) {
+        if (neighbors[i][j] < 0 || neighbors[i][j] >= neighbors.length) {
+          throw new IllegalArgumentException("Room id does not exist.");
+        }
+        targets[offsets[i] + j] = neighbors[i][j];
+      }
+    }
+  }
+
+  /**
+   * Constructs the graph from arrays already in compressed sparse row form, as written
+   * by putCsr. The arrays are kept and must not be changed. The arrays may come from a
+   * damaged file, so the graph is checked in one pass over the neighbors to be what
+   * isNeighbor and the room distances expect.
+   *
+   * @param offsets start of the neighbors of every room, and the end of the last room
+   * @param targets neighbor ids of all rooms one room after another
+   * @throws IllegalArgumentException if offsets are not increasing from 0 to the number
+   *                                  of targets, a neighbor does not exist, a room is
+   *                                  its own neighbor, the neighbors of a room are not
+   *                                  strictly increasing or a door goes one way only
+   */
+  RoomGraph(int[] offsets, int[] targets) {
+    int numRoom = offsets.length - 1;
+    if (numRoom < 0 || offsets[0] != 0 || offsets[numRoom] != targets.length) {
+      throw new IllegalArgumentException("Invalid neighbor offsets.");
+    }
+    for (int i = 0; i < numRoom; i++) {
+      if (offsets[i] > offsets[i + 1]) {
+        throw new IllegalArgumentException("Invalid neighbor offsets.");
+      }
+    }
+    // next neighbor of every room not yet matched with the room listing it, the rooms
+    // before a room that list it have to be its first neighbors in the same order
+    int[] matched = Arrays.copyOf(offsets, numRoom);
+    for (int i = 0; i < numRoom; i++) {
+      for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+        int j = targets[k];
+        if (j < 0 || j >= numRoom) {
+          throw new IllegalArgumentException("Room id does not exist.");
+        }
+        if (j == i) {
+          throw new IllegalArgumentException("Room " + i + " cannot be its own neighbor.");
+        }
+        if (k > offsets[i] && targets[k - 1] >= j) {
+          throw new IllegalArgumentException("Neighbors of room " + i
+              + " are not in increasing order.");
+        }
+        if (j < i ? k >= matched[i]
+            : matched[j] == offsets[j + 1] || targets[matched[j]++] != i) {
+          throw new IllegalArgumentException("Rooms " + i + " and " + j
+              + " are not neighbors of each other.");
+        }
+      }
+    }
+    this.offsets = offsets;
+    this.targets = targets;
+    this.tours = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Return the number of rooms in the graph.
+   *
+   * @return number of rooms
+   */
+  public int getNumRoom() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Return the number of neighbor entries of all rooms, twice the number of doors.
+   *
+   * @return total number of neighbors
+   */
+  int getNumEdges() {
+    return targets.length;
+  }
+
+  /**
+   * Append the offsets and then the neighbor ids of the graph to a buffer.
+   *
+   * @param out the buffer to write to
+   */
+  void putCsr(IntBuffer out) {
+    out.put(offsets).put(targets);
+  }
+
+  /**
+   * Return the number of neighbors of a room.
+   *
+   * @param roomId id of the room
+   * @return number of neighbors
+   * @throws IllegalArgumentException if room id does not exist
+   */
+  public int degree(int roomId) {
+    checkRoomId(roomId);
+    return offsets[roomId + 1] - offsets[roomId];
+  }
+
+  /**
+   * Return the id of a neighbor of a room.
+   *
+   * @param roomId id of the room
+   * @param index  index of the neighbor, from 0 to degree(roomId) - 1
+   * @return id of the neighbor, neighbors are in increasing order of id
+   * @throws IllegalArgumentException if room id does not exist or index is out of range
+   */
+  public int neighbor(int roomId, int index) {
+    checkRoomId(roomId);
+    if (index < 0 || index >= offsets[roomId + 1] - offsets[roomId]) {
+      throw new IllegalArgumentException("Invalid neighbor index.");
+    }
+    return targets[offsets[roomId] + index];
+  }
+
+  /**
+   * Return true if two rooms are neighbors, by binary search in the neighbors of the
+   * first room.
+   *
+   * @param roomId  id of the room
+   * @param otherId id of the other room
+   * @return true if the rooms are neighbors, otherwise false
+   * @throws IllegalArgumentException if a room id does not exist
+   */
+  public boolean isNeighbor(int roomId, int otherId) {
+    checkRoomId(roomId);
+    checkRoomId(otherId);
+    int low = offsets[roomId];
+    int high = offsets[roomId + 1] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (targets[mid] < otherId) {
+        low = mid + 1;
+      } else if (targets[mid] > otherId) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Return a copy of the neighbor ids of a room.
+   *
+   * @param roomId id of the room
+   * @return ids of the neighbors in increasing order
+   * @throws IllegalArgumentException if room id does not exist
+   */
+  public int[] neighborIds(int roomId) {
+    checkRoomId(roomId);
+    int[] res = new int[offsets[roomId + 1] - offsets[roomId]];
+    System.arraycopy(targets, offsets[roomId], res, 0, res.length);
+    return res;
+  }
+
+  /**
+   * Return the number of rooms on the DFS tour starting at a room. The tour visits
+   * the smallest unvisited neighbor first, goes back through the rooms it came from
+   * when a room has no unvisited neighbor, and ends back at the start room.
+   *
+   * @param startRoomId id of the start room
+   * @return number of rooms on the tour, including the start room at both ends
+   * @throws IllegalArgumentException if room id does not exist
+   */
+  public int dfsTourLength(int startRoomId) {
+    return dfsTour(startRoomId).length;
+  }
+
+  /**
+   * Return a room on the DFS tour starting at a room.
+   *
+   * @param startRoomId id of the start room
+   * @param index       position on the tour, the start room is at position 0
+   * @return id of the room at this position
+   * @throws IllegalArgumentException if room id does not exist or index is out of range
+   */
+  public int dfsTourRoom(int startRoomId, int index) {
+    int[] tour = dfsTour(startRoomId);
+    if (index < 0 || index >= tour.length) {
+      throw new IllegalArgumentException("Invalid tour index.");
+    }
+    return tour[index];
+  }
+
+  /**
+   * Helper method to return the cached tour of a start room, computing it the first
+   * time.
+   */
+  private int[] dfsTour(int startRoomId) {
+    checkRoomId(startRoomId);
+    int[] tour = tours.get(startRoomId);
+    if (tour == null) {
+      tour = tours.computeIfAbsent(startRoomId, this::computeDfsTour);
+    }
+    return tour;
+  }
+
+  /**
+   * Helper method to walk the DFS tour. Neighbors are in increasing order and a room
+   * once visited stays visited, so every room remembers how far its neighbors were
+   * scanned and the whole tour costs O(rooms + neighbors).
+   */
+  private int[] computeDfsTour(int startRoomId) {
+    int numRoom = offsets.length - 1;
+    boolean[] visited = new boolean[numRoom];
+    int[] cursor = new int[numRoom];
+    int[] route = new int[numRoom];
+    int[] path = new int[16];
+    int depth = 0;
+    int size = 0;
+    route[depth++] = startRoomId;
+    visited[startRoomId] = true;
+    path[size++] = startRoomId;
+    while (depth > 0) {
+      int room = route[depth - 1];
+      int next = -1;
+      while (cursor[room] < offsets[room + 1] - offsets[room]) {
+        int neighborId = targets[offsets[room] + cursor[room]++];
+        if (!visited[neighborId]) {
+          next = neighborId;
+          break;
+        }
+      }
+      if (next >= 0) {
+        visited[next] = true;
+        route[depth++] = next;
+      } else {
+        depth--;
+        if (depth == 0) {
+          break;
+        }
+        next = route[depth - 1];
+      }
+      if (size == path.length) {
+        path = Arrays.copyOf(path, size * 2);
+      }
+      path[size++] = next;
+    }
+    return Arrays.copyOf(path, size);
+  }
+
+  private void checkRoomId(int roomId) {
+    if (roomId < 0 || roomId >= offsets.length - 1) {
+      throw new IllegalArgumentException("Room id does not exist.");
+    }
+  }
+
+}
@@ -0,0 +1,176 @@
+package world;
+
+import java.util.Arrays;
+
+/**
+ * A dense grid that stores the id of the room covering every cell of the map. It is
+ * built in one pass over the area of the rooms, which also finds overlapping rooms,
+ * then the room at a position of the map is found in constant time and the
+ * neighbors of a room are found by walking the cells around its walls, instead of
+ * testing every pair of rooms.
+ *
+ */
+final class RoomGrid {
+
+  private final int rows;
+  private final int cols;
+  private final int[] cells;
+  private final int[] upRows;
+  private final int[] upCols;
+  private final int[] downRows;
+  private final int[] downCols;
+
+  /**
+   * Constructs the grid from the corners of the rooms, the room with id i has its
+   * corners at index i of the arrays. The arrays are kept and must not be changed.
+   *
+   * @param upRows   row of the top left corner of every room
+   * @param upCols   column of the top left corner of every room
+   * @param downRows row of the bottom right corner of every room
+   * @param downCols column of the bottom right corner of every room
+   * @param rows     number of rows of the map
+   * @param cols     number of columns of the map
+   * @throws IllegalArgumentException if two rooms overlap
+   */
+  RoomGrid(int[] upRows, int[] upCols, int[] downRows, int[] downCols, int rows, int cols) {
+    this.upRows = upRows;
+    this.upCols = upCols;
+    this.downRows = downRows;
+    this.downCols = downCols;
+    // rooms are allowed to reach past the declared size of the map
+    int maxRow = rows;
+    int maxCol = cols;
+    for (int i = 0; i < upRows.length; i++) {
+      maxRow = Math.max(maxRow, downRows[i]);
+      maxCol = Math.max(maxCol, downCols[i]);
+    }
+    this.rows = maxRow;
+    this.cols = maxCol;
+    cells = new int[Math.multiplyExact(maxRow, maxCol)];
+    Arrays.fill(cells, -1);
+    for (int i = 0; i < upRows.length; i++) {
+      for (int r = upRows[i]; r < downRows[i]; r++) {
+        int from = r * maxCol + upCols[i];
+        int to = r * maxCol + downCols[i];
+        for (int k = from; k < to; k++) {
+          // rooms with integer corners overlap exactly when they share a cell
+          if (cells[k] >= 0) {
+            throw new IllegalArgumentException("Rooms cannot overlap with" + "each other.");
+          }
+          cells[k] = i;
+        }
+      }
+    }
+  }
+
+  /**
+   * Return the id of the room at a pixel of the map, 30 pixels per cell. Borders
+   * belong to every room they touch, and when several rooms touch the pixel the one
+   * with the smallest id is returned.
+   *
+   * @param x x coordinate in pixels
+   * @param y y coordinate in pixels
+   * @return id of the room, -1 if no room is at this position
+   */
+  int findRoomId(int x, int y) {
+    int col = x / 30;
+    int row = y / 30;
+    int fromCol = x % 30 == 0 ? col - 1 : col;
+    int fromRow = y % 30 == 0 ? row - 1 : row;
+    int res = -1;
+    for (int r = Math.max(fromRow, 0); r <= Math.min(row, rows - 1); r++) {
+      for (int c = Math.max(fromCol, 0); c <= Math.min(col, cols - 1); c++) {
+        int id = cells[r * cols + c];
+        if (id >= 0 && (res < 0 || id < res)) {
+          res = id;
+        }
+      }
+    }
+    return res;
+  }
+
+  /**
+   * Return the ids of the rooms sharing a wall of positive length with a room, which
+   * are the rooms Room.isNeighbor accepts. The cost is proportional to the perimeter
+   * of the room.
+   *
+   * @param roomId id of the room
+   * @return ids of the neighbors in increasing order
+   */
+  int[] findNeighbors(int roomId) {
+    int ur = upRows[roomId];
+    int uc = upCols[roomId];
+    int dr = downRows[roomId];
+    int dc = downCols[roomId];
+    int[] found = new int[2 * (dr - ur) + 2 * (dc - uc)];
+    int size = 0;
+    for (int c = uc; c < dc; c++) {
+      size = addCell(found, size, ur - 1, c);
+      size = addCell(found, size, dr, c);
+    }
+    for (int r = ur; r < dr; r++) {
+      size = addCell(found, size, r, uc - 1);
+      size = addCell(found, size, r, dc);
+    }
+    Arrays.sort(found, 0, size);
+    int unique = 0;
+    for (int i = 0; i < size; i++) {
+      if (unique == 0 || found[unique - 1] != found[i]) {
+        found[unique++] = found[i];
+      }
+    }
+    return Arrays.copyOf(found, unique);
+  }
+
+  /**
+   * Return the ids of the rooms covering at least one cell of a block of cells. The
+   * cost is proportional to the area of the block.
+   *
+   * @param fromRow first row of the block
+   * @param fromCol first column of the block
+   * @param toRow   row after the last row of the block
+   * @param toCol   column after the last column of the block
+   * @return ids of the rooms in increasing order
+   */
+  int[] roomsInCells(int fromRow, int fromCol, int toRow, int toCol) {
+    fromRow = Math.max(fromRow, 0);
+    fromCol = Math.max(fromCol, 0);
+    toRow = Math.min(toRow, rows);
+    toCol = Math.min(toCol, cols);
+    if (fromRow >= toRow || fromCol >= toCol) {
+      return new int[0];
+    }
+    int[] found = new int[(toRow - fromRow) * (toCol - fromCol)];
+    int size = 0;
+    for (int r = fromRow; r < toRow; r++) {
+      for (int c = fromCol; c < toCol; c++) {
+        size = addCell(found, size, r, c);
+      }
+    }
+    Arrays.sort(found, 0, size);
+    int unique = 0;
+    for (int i = 0; i < size; i++) {
+      if (unique == 0 || found[unique - 1] != found[i]) {
+        found[unique++] = found[i];
+      }
+    }
+    return Arrays.copyOf(found, unique);
+  }
+
+  /**
+   * Helper method to append the room at a cell, skipping cells outside the map, empty
+   * cells and a room already appended just before.
+   */
+  private int addCell(int[] found, int size, int row, int col) {
+    if (row < 0 || col < 0 || row >= rows || col >= cols) {
+      return size;
+    }
+    int id = cells[row * cols + col];
+    if (id < 0 || (size > 0 && found[size - 1] == id)) {
+      return size;
+    }
+    found[size] = id;
+    return size + 1;
+  }
+
+}
@@ -0,0 +1,186 @@
+package world;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics collected over a number of simulated games, including the throughput of
+ * the simulator and the outcome of every game.
+ *
+ */
+public class SimulationReport {
+
+  private final int numPlayers;
+  private final List<GameResult> results;
+  private final int[] wins;
+  private long elapsedNanos;
+  private int kills;
+  private long totalTurns;
+  private long totalAttempts;
+  private long totalHits;
+
+  /**
+   * Constructs an empty report for games played by a fixed number of players.
+   * 
+   * @param numPlayers number of players in every game
+   * @throws IllegalArgumentException if numPlayers is not positive
+   */
+  public SimulationReport(int numPlayers) {
+    if (numPlayers <= 0) {
+      throw new IllegalArgumentException("Number of players has to be positive.");
+    }
+    this.numPlayers = numPlayers;
+    this.results = new ArrayList<>();
+    this.wins = new int[numPlayers];
+  }
+
+  /**
+   * Add the outcome of one game into the report.
+   * 
+   * @param result the outcome of the game
+   * @throws IllegalArgumentException if result is null or winner is not a player
+   */
+  public void add(GameResult result) {
+    if (result == null) {
+      throw new IllegalArgumentException("Result cannot be null.");
+    }
+    if (result.getWinnerId() >= numPlayers) {
+      throw new IllegalArgumentException("Winner is not a player of the game.");
+    }
+    results.add(result);
+    if (result.isTargetKilled()) {
+      kills++;
+      wins[result.getWinnerId()]++;
+    }
+    totalTurns += result.getTurns();
+    totalAttempts += result.getAttempts();
+    totalHits += result.getHits();
+  }
+
+  /**
+   * Add the outcomes of all games of another report into this report, the games of
+   * the other report come after the games of this report.
+   * 
+   * @param other the report to merge
+   * @throws IllegalArgumentException if other is null or has a different number of
+   *                                  players
+   */
+  public void merge(SimulationReport other) {
+    if (other == null) {
+      throw new IllegalArgumentException("Report cannot be null.");
+    }
+    if (other.numPlayers != numPlayers) {
+      throw new IllegalArgumentException("Reports have different number of players.");
+    }
+    results.addAll(other.results);
+    for (int i = 0; i < numPlayers; i++) {
+      wins[i] += other.wins[i];
+    }
+    kills += other.kills;
+    totalTurns += other.totalTurns;
+    totalAttempts += other.totalAttempts;
+    totalHits += other.totalHits;
+  }
+
+  /**
+   * Set how long it took to play all games in the report.
+   * 
+   * @param elapsedNanos wall clock time in nanoseconds
+   * @throws IllegalArgumentException if elapsedNanos is negative
+   */
+  public void setElapsedNanos(long elapsedNanos) {
+    if (elapsedNanos < 0) {
+      throw new IllegalArgumentException("Elapsed time cannot be negative.");
+    }
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Return the number of games in the report.
+   * 
+   * @return number of games played
+   */
+  public int getNumGames() {
+    return results.size();
+  }
+
+  /**
+   * Return the outcome of every game in the order they were added.
+   * 
+   * @return list of game results
+   */
+  public List<GameResult> getResults() {
+    return new ArrayList<>(results);
+  }
+
+  /**
+   * Return how many games each player won, indexed by player id.
+   * 
+   * @return number of wins of each player
+   */
+  public int[] getWins() {
+    return wins.clone();
+  }
+
+  /**
+   * Return the number of games in which target was killed.
+   * 
+   * @return number of games target was killed
+   */
+  public int getKills() {
+    return kills;
+  }
+
+  /**
+   * Return the fraction of games in which target was killed.
+   * 
+   * @return kill rate between 0 and 1
+   */
+  public double getKillRate() {
+    return results.isEmpty() ? 0 : (double) kills / results.size();
+  }
+
+  /**
+   * Return the average number of turns played per game.
+   * 
+   * @return average turns per game
+   */
+  public double getAverageTurns() {
+    return results.isEmpty() ? 0 : (double) totalTurns / results.size();
+  }
+
+  /**
+   * Return the fraction of attempts on target's life that damaged the target.
+   * 
+   * @return hit rate between 0 and 1
+   */
+  public double getHitRate() {
+    return totalAttempts == 0 ? 0 : (double) totalHits / totalAttempts;
+  }
+
+  /**
+   * Return the number of games played per second of wall clock time.
+   * 
+   * @return games per second
+   */
+  public double getGamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : results.size() * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder str = new StringBuilder();
+    str.append(String.format("Games played: %d in %.3f s (%.1f games/sec)%n", results.size(),
+        elapsedNanos / 1e9, getGamesPerSecond()));
+    str.append(String.format("Target killed: %d (%.2f%%), ran away: %d%n", kills,
+        getKillRate() * 100, results.size() - kills));
+    str.append(String.format("Average turns: %.2f%n", getAverageTurns()));
+    str.append(String.format("Attempts: %d, hits: %d (%.2f%%)%n", totalAttempts, totalHits,
+        getHitRate() * 100));
+    for (int i = 0; i < numPlayers; i++) {
+      str.append(String.format("Player %d wins: %d%n", i, wins[i]));
+    }
+    return str.toString();
+  }
+
+}
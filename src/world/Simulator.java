@@ -0,0 +1,19 @@
+package world;
+
+/**
+ * An interface for simulators that play Kill Doctor Lucky games without any view,
+ * with every player controlled by the computer, and report the outcome of the games.
+ *
+ */
+public interface Simulator {
+
+  /**
+   * Play the given number of games from start to end and collect their outcomes.
+   * 
+   * @param numGames number of games to play
+   * @return the report with the statistics of all games played
+   * @throws IllegalArgumentException if numGames is not positive
+   */
+  SimulationReport run(int numGames);
+
+}
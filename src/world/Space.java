@@ -16,7 +16,8 @@ public interface Space {
   String getName();
   
   /**
-   * Return the list of items in this Space.
+   * Return the list of items in this Space, as a read only view that follows
+   * the items added and removed later.
    * 
    * @return list of items in this Space
    */
@@ -59,7 +60,7 @@ public interface Space {
   int getId();
   
   /**
-   * Return the list of neighbors of this Space.
+   * Return the list of neighbors of this Space, as a read only view.
    * 
    * @return list of neighbors
    */
@@ -89,7 +90,8 @@ public interface Space {
   void removeItem(Item item);
 
   /**
-   * Return the list of players in the Space.
+   * Return the list of players in the Space, as a read only view that follows
+   * the players coming and leaving later.
    * 
    * @return list of players in the Space
    */
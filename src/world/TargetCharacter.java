@@ -87,6 +87,17 @@ public class TargetCharacter implements Piece {
     return result;
   }
 
+  /**
+   * Set the room and health of the target, used to restore a game state.
+   * 
+   * @param roomId id of the room
+   * @param health health of the target
+   */
+  void restore(int roomId, int health) {
+    this.currentRoomId = roomId;
+    this.health = health;
+  }
+
   @Override
   public void reduceHealth(int damage) {
     if (damage <= 0) {
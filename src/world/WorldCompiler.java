@@ -0,0 +1,24 @@
+package world;
+
+/**
+ * Command line tool that reads and validates a world text file once and writes it as a
+ * compiled world file, which the game then opens without parsing or validating it.
+ *
+ */
+public class WorldCompiler {
+  /**
+   * Compile a world file.
+   *
+   * @param args path of the world text file and path of the compiled file to write
+   */
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      System.err.println("Usage: WorldCompiler <world file> <compiled world file>");
+      System.exit(1);
+    }
+    WorldSpec spec = WorldSpec.fromFile(args[0]);
+    spec.writeCompiled(args[1]);
+    System.out.printf("Compiled %d rooms and %d items to %s%n", spec.getNumRoom(),
+        spec.getNumItems(), args[1]);
+  }
+}
@@ -0,0 +1,185 @@
+package world;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Generator of valid world files in the same text format as res/mansion.txt, used to
+ * build large worlds for testing and benchmarks. Rooms are laid out in bands, rooms
+ * of a band are side by side and have random widths, so every room has neighbors on
+ * its left and right and in the bands above and below.
+ *
+ * <p>The number of rooms in a band sets the shape of the map, the item density the
+ * number of items per room, and the adjacency density the share of rooms side by side
+ * in a band that touch: the others are split by a column of empty cells, which leaves
+ * only the bands above and below as their neighbors.
+ *
+ */
+public class WorldGenerator {
+
+  private final int numRoom;
+  private final int roomsPerBand;
+  private final double itemDensity;
+  private final double adjacencyDensity;
+  private final long seed;
+
+  /**
+   * Constructs a generator of worlds with the given number of rooms, about as many
+   * bands as rooms in a band, half as many items as rooms and every room touching its
+   * neighbors in the band.
+   *
+   * @param numRoom number of rooms of the world
+   * @param seed    seed of the random layout, the same seed gives the same world
+   * @throws IllegalArgumentException if numRoom is not positive
+   */
+  public WorldGenerator(int numRoom, long seed) {
+    this(numRoom, (int) Math.ceil(Math.sqrt(Math.max(numRoom, 1))), 0.5, 1, seed);
+  }
+
+  /**
+   * Constructs a generator of worlds.
+   *
+   * @param numRoom          number of rooms of the world
+   * @param roomsPerBand     number of rooms side by side in a band
+   * @param itemDensity      number of items per room, rounded down for the world
+   * @param adjacencyDensity chance that two rooms side by side in a band touch, from 0
+   *                         to 1
+   * @param seed             seed of the random layout, the same seed gives the same
+   *                         world
+   * @throws IllegalArgumentException if numRoom or roomsPerBand is not positive, item
+   *                                  density is negative or adjacency density is not
+   *                                  between 0 and 1
+   */
+  public WorldGenerator(int numRoom, int roomsPerBand, double itemDensity,
+      double adjacencyDensity, long seed) {
+    if (numRoom <= 0) {
+      throw new IllegalArgumentException("Number of room has to be positive.");
+    }
+    if (roomsPerBand <= 0) {
+      throw new IllegalArgumentException("Number of rooms in a band has to be positive.");
+    }
+    if (!(itemDensity >= 0) || numRoom * itemDensity > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Item density is out of range.");
+    }
+    if (!(adjacencyDensity >= 0 && adjacencyDensity <= 1)) {
+      throw new IllegalArgumentException("Adjacency density has to be between 0 and 1.");
+    }
+    this.numRoom = numRoom;
+    this.roomsPerBand = roomsPerBand;
+    this.itemDensity = itemDensity;
+    this.adjacencyDensity = adjacencyDensity;
+    this.seed = seed;
+  }
+
+  /**
+   * Generate a world file from the command line.
+   *
+   * @param args path of the file, number of rooms, and optionally the seed, the item
+   *             density, the adjacency density and the number of rooms in a band
+   */
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.err.println("Usage: WorldGenerator <file> <rooms> [seed] [items per room]"
+          + " [adjacency density] [rooms per band]");
+      System.exit(1);
+    }
+    int numRoom = Integer.parseInt(args[1]);
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+    double itemDensity = args.length > 3 ? Double.parseDouble(args[3]) : 0.5;
+    double adjacencyDensity = args.length > 4 ? Double.parseDouble(args[4]) : 1;
+    int roomsPerBand = args.length > 5 ? Integer.parseInt(args[5])
+        : (int) Math.ceil(Math.sqrt(numRoom));
+    new WorldGenerator(numRoom, roomsPerBand, itemDensity, adjacencyDensity, seed)
+        .writeFile(args[0]);
+    System.out.printf("Generated %d rooms and %d items to %s%n", numRoom,
+        (int) (numRoom * itemDensity), args[0]);
+  }
+
+  /**
+   * Write the generated world to a file.
+   *
+   * @param filePath path of the file to write
+   * @throws IllegalArgumentException if file cannot be written
+   */
+  public void writeFile(String filePath) {
+    if (filePath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    try (Writer out = new BufferedWriter(new FileWriter(filePath), 1 << 16)) {
+      write(out);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to write file content.");
+    }
+  }
+
+  /**
+   * Write the generated world in the world file format.
+   *
+   * @param out where to write the world
+   * @throws IOException if writing fails
+   * @throws IllegalArgumentException if out is null
+   */
+  public void write(Writer out) throws IOException {
+    if (out == null) {
+      throw new IllegalArgumentException("Writer cannot be null.");
+    }
+    Random random = new Random(seed);
+    int numBand = (numRoom + roomsPerBand - 1) / roomsPerBand;
+    // corners of room i at 4 * i, one array keeps millions of rooms compact
+    int[] rooms = new int[4 * numRoom];
+    int rows = 0;
+    int cols = 0;
+    for (int b = 0; b < numBand; b++) {
+      int height = 2 + random.nextInt(3);
+      int col = 0;
+      int end = (int) Math.min(numRoom, (long) (b + 1) * roomsPerBand);
+      for (int i = b * roomsPerBand; i < end; i++) {
+        if (col > 0 && adjacencyDensity < 1 && random.nextDouble() >= adjacencyDensity) {
+          col++;
+        }
+        int width = 2 + random.nextInt(5);
+        rooms[4 * i] = rows;
+        rooms[4 * i + 1] = col;
+        rooms[4 * i + 2] = rows + height;
+        rooms[4 * i + 3] = col + width;
+        col += width;
+      }
+      rows += height;
+      cols = Math.max(cols, col);
+    }
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(rows).append(' ').append(cols).append(" Generated house\n");
+    sb.append(10 + random.nextInt(41)).append(" Doctor Lucky\n");
+    sb.append("Fortune the Cat\n");
+    sb.append(numRoom).append('\n');
+    for (int i = 0; i < numRoom; i++) {
+      sb.append(rooms[4 * i]).append(' ').append(rooms[4 * i + 1]).append(' ');
+      sb.append(rooms[4 * i + 2]).append(' ').append(rooms[4 * i + 3]);
+      sb.append(" Room ").append(i).append('\n');
+      flushIfFull(out, sb);
+    }
+    int numItems = (int) (numRoom * itemDensity);
+    sb.append(numItems).append('\n');
+    for (int i = 0; i < numItems; i++) {
+      sb.append(random.nextInt(numRoom)).append(' ').append(1 + random.nextInt(5));
+      sb.append(" Item ").append(i).append('\n');
+      flushIfFull(out, sb);
+    }
+    out.write(sb.toString());
+  }
+
+  /**
+   * Helper method to write the lines gathered so far once there are enough of them.
+   */
+  private static void flushIfFull(Writer out, StringBuilder sb) throws IOException {
+    if (sb.length() >= 1 << 15) {
+      out.write(sb.toString());
+      sb.setLength(0);
+    }
+  }
+
+}
@@ -0,0 +1,698 @@
+package world;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The immutable specification of a world, read and validated once from a world file.
+ * It holds the rooms, their neighbors, the items, the target and the pet, and any
+ * number of games can be built from it with no I/O, validation or rendering. A spec
+ * can be shared between threads.
+ *
+ * <p>A spec can also be written to a compiled world file, holding the validated rooms,
+ * the neighbors in compressed sparse row form and the items as arrays of ints followed
+ * by the names. Loading a compiled file maps it into memory and copies the arrays out,
+ * with no text parsing, no overlap check and no neighbor search.
+ *
+ */
+public final class WorldSpec {
+
+  static final int COMPILED_MAGIC = 0x444c5731;
+  static final int COMPILED_VERSION = 1;
+  // changed whenever drawRegion draws differently, so cached maps are not reused
+  static final int MAP_VERSION = 1;
+
+  // height in pixels of the bands of the map drawn in parallel, eight cells
+  private static final int BAND_HEIGHT = 240;
+  private static final BasicStroke WALL = new BasicStroke(2);
+  private static final Font LABEL_FONT = new Font("MV Boli", Font.BOLD, 16);
+
+  private final String filePath;
+  private final int rows;
+  private final int cols;
+  private final String targetName;
+  private final int targetHealth;
+  private final String petName;
+  private final String[] roomNames;
+  private final int[] upRows;
+  private final int[] upCols;
+  private final int[] downRows;
+  private final int[] downCols;
+  private final RoomGraph graph;
+  private final int[] itemRoomIds;
+  private final Item[] items;
+  // built when the world is read, or on the first position lookup of a compiled world
+  private RoomGrid grid;
+  private MapTiles tiles;
+  private String mapHash;
+  private RoomDistances distances;
+
+  private WorldSpec(String filePath, int rows, int cols, String targetName, int targetHealth,
+      String petName, String[] roomNames, int[] upRows, int[] upCols, int[] downRows,
+      int[] downCols, int[] itemRoomIds, Item[] items) {
+    this.filePath = filePath;
+    this.rows = rows;
+    this.cols = cols;
+    this.targetName = targetName;
+    this.targetHealth = targetHealth;
+    this.petName = petName;
+    this.roomNames = roomNames;
+    this.upRows = upRows;
+    this.upCols = upCols;
+    this.downRows = downRows;
+    this.downCols = downCols;
+    // validate rooms and find neighbors
+    grid = new RoomGrid(upRows, upCols, downRows, downCols, rows, cols);
+    int[][] neighbors = new int[roomNames.length][];
+    for (int i = 0; i < roomNames.length; i++) {
+      neighbors[i] = grid.findNeighbors(i);
+    }
+    graph = new RoomGraph(neighbors);
+    this.itemRoomIds = itemRoomIds;
+    this.items = items;
+  }
+
+  private WorldSpec(String filePath, int rows, int cols, String targetName, int targetHealth,
+      String petName, String[] roomNames, int[] upRows, int[] upCols, int[] downRows,
+      int[] downCols, RoomGraph graph, int[] itemRoomIds, Item[] items) {
+    this.filePath = filePath;
+    this.rows = rows;
+    this.cols = cols;
+    this.targetName = targetName;
+    this.targetHealth = targetHealth;
+    this.petName = petName;
+    this.roomNames = roomNames;
+    this.upRows = upRows;
+    this.upCols = upCols;
+    this.downRows = downRows;
+    this.downCols = downCols;
+    this.graph = graph;
+    this.itemRoomIds = itemRoomIds;
+    this.items = items;
+  }
+
+  /**
+   * Read, validate and build the specification of the world in the given file, which
+   * is either a world text file or a compiled world file.
+   *
+   * @param filePath path of the world file
+   * @return the specification of the world
+   * @throws IllegalArgumentException if file cannot be read or is not a valid world,
+   *                                  with the line and column of the error in a text
+   *                                  file
+   */
+  public static WorldSpec fromFile(String filePath) {
+    if (filePath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    try (FileChannel channel = FileChannel.open(Paths.get(filePath),
+        StandardOpenOption.READ)) {
+      ByteBuffer head = ByteBuffer.allocate(4);
+      channel.read(head, 0);
+      // text worlds start with a digit, so they never start with the magic number
+      if (head.position() == 4 && head.getInt(0) == COMPILED_MAGIC) {
+        return readCompiled(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()),
+            filePath);
+      }
+      return parse(new WorldTokenizer(Channels.newInputStream(channel)), filePath);
+    } catch (IOException | InvalidPathException e) {
+      throw new IllegalArgumentException("Unable to read file content.");
+    }
+  }
+
+  /**
+   * Read, validate and build the specification of a world from a reader.
+   *
+   * @param br       reader of the world specification, closed when done
+   * @param filePath path the specification was read from, can be null
+   * @return the specification of the world
+   * @throws IllegalArgumentException if reader is null or the world is not valid, with
+   *                                  the line and column of the error
+   */
+  public static WorldSpec parse(BufferedReader br, String filePath) {
+    if (br == null) {
+      throw new IllegalArgumentException("Reader cannot be null.");
+    }
+    try (BufferedReader reader = br) {
+      return parse(new WorldTokenizer(reader), filePath);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to read file content.");
+    }
+  }
+
+  /**
+   * Helper method to read the world file format one token at a time: the size of the
+   * map and its name, the health and name of the target, the name of the pet, then the
+   * number of rooms and one room per line, then the number of items and one item per
+   * line.
+   */
+  private static WorldSpec parse(WorldTokenizer tokens, String filePath) {
+    // map row and column, the rest of the line is the name of the world
+    int rows = tokens.nextInt("number of rows");
+    int cols = tokens.nextInt("number of columns");
+    tokens.restOfLine();
+    int mapRow = rows * 30;
+    int mapCol = cols * 30;
+
+    // doctor health and name
+    int targetHealth = tokens.nextInt("health of the target");
+    if (targetHealth <= 0) {
+      throw tokens.error("Health cannot be 0 or negative.");
+    }
+    String targetName = tokens.restOfLine();
+
+    // pet name
+    String petName = tokens.wholeLine();
+
+    // number of rooms
+    int numRoom = tokens.nextInt("number of rooms");
+    if (numRoom <= 0) {
+      throw tokens.error("Number of room has to be positive.");
+    }
+    tokens.endLine();
+
+    // room generated
+    String[] roomNames = new String[numRoom];
+    int[] upRows = new int[numRoom];
+    int[] upCols = new int[numRoom];
+    int[] downRows = new int[numRoom];
+    int[] downCols = new int[numRoom];
+    for (int i = 0; i < numRoom; i++) {
+      int ur = tokens.nextInt("row of the top left corner");
+      int uc = tokens.nextInt("column of the top left corner");
+      int dr = tokens.nextInt("row of the bottom right corner");
+      int dc = tokens.nextInt("column of the bottom right corner");
+      if (ur > mapRow || dr > mapRow || uc > mapCol || dc > mapCol) {
+        throw tokens.error("Room cannot exceed the range of map.");
+      }
+      checkRoom(tokens, ur, uc, dr, dc);
+      roomNames[i] = tokens.restOfLine();
+      upRows[i] = ur;
+      upCols[i] = uc;
+      downRows[i] = dr;
+      downCols[i] = dc;
+    }
+
+    // read for items
+    int numWeapons = tokens.nextInt("number of items");
+    if (numWeapons < 0) {
+      throw tokens.error("Number of items cannot be negative.");
+    }
+    tokens.endLine();
+    int[] itemRoomIds = new int[numWeapons];
+    Item[] items = new Item[numWeapons];
+    for (int i = 0; i < numWeapons; i++) {
+      int roomId = tokens.nextInt("room id of the item");
+      if (roomId < 0 || roomId >= numRoom) {
+        throw tokens.error("Room id does not exist.");
+      }
+      int power = tokens.nextInt("power of the item");
+      if (power < 0) {
+        throw tokens.error("Power cannot be negative.");
+      }
+      itemRoomIds[i] = roomId;
+      items[i] = new Weapon(tokens.restOfLine(), power);
+    }
+    return new WorldSpec(filePath, rows, cols, targetName, targetHealth, petName, roomNames,
+        upRows, upCols, downRows, downCols, itemRoomIds, items);
+  }
+
+  /**
+   * Helper method to build a spec from the content of a compiled world file. Only the
+   * structure of the file is checked: that counts fit in the file, that neighbor and
+   * item room ids exist and that the neighbors form the sorted two way lists of the
+   * room graph. The rooms were validated when the file was compiled.
+   */
+  private static WorldSpec readCompiled(ByteBuffer buffer, String filePath) {
+    try {
+      if (buffer.getInt() != COMPILED_MAGIC || buffer.getInt() != COMPILED_VERSION) {
+        throw new IllegalArgumentException("Compiled world version is not supported.");
+      }
+      int rows = buffer.getInt();
+      int cols = buffer.getInt();
+      int targetHealth = buffer.getInt();
+      int numRoom = buffer.getInt();
+      int numItems = buffer.getInt();
+      int numEdges = buffer.getInt();
+      if (numRoom <= 0 || numItems < 0 || numEdges < 0
+          || (5L * numRoom + numEdges + 2L * numItems + 1) * 4 > buffer.remaining()) {
+        throw new IllegalArgumentException("Compiled world is corrupted.");
+      }
+      IntBuffer ints = buffer.asIntBuffer();
+      int[] upRows = getInts(ints, numRoom);
+      int[] upCols = getInts(ints, numRoom);
+      int[] downRows = getInts(ints, numRoom);
+      int[] downCols = getInts(ints, numRoom);
+      int[] offsets = getInts(ints, numRoom + 1);
+      int[] targets = getInts(ints, numEdges);
+      int[] itemRoomIds = getInts(ints, numItems);
+      int[] powers = getInts(ints, numItems);
+      buffer.position(buffer.position() + 4 * ints.position());
+      RoomGraph graph = new RoomGraph(offsets, targets);
+      for (int i = 0; i < numItems; i++) {
+        if (itemRoomIds[i] < 0 || itemRoomIds[i] >= numRoom) {
+          throw new IllegalArgumentException("Room id does not exist.");
+        }
+      }
+      String targetName = getString(buffer);
+      String petName = getString(buffer);
+      String[] roomNames = new String[numRoom];
+      for (int i = 0; i < numRoom; i++) {
+        roomNames[i] = getString(buffer);
+      }
+      Item[] items = new Item[numItems];
+      for (int i = 0; i < numItems; i++) {
+        items[i] = new Weapon(getString(buffer), powers[i]);
+      }
+      return new WorldSpec(filePath, rows, cols, targetName, targetHealth, petName,
+          roomNames, upRows, upCols, downRows, downCols, graph, itemRoomIds, items);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Compiled world is corrupted.");
+    }
+  }
+
+  private static int[] getInts(IntBuffer ints, int count) {
+    int[] values = new int[count];
+    ints.get(values);
+    return values;
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Compiled world is corrupted.");
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Write the specification to a compiled world file, which fromFile reads without
+   * parsing or validating it again. An existing file is replaced.
+   *
+   * @param compiledPath path of the compiled world file
+   * @throws IllegalArgumentException if path is null or the file cannot be written
+   */
+  public void writeCompiled(String compiledPath) {
+    if (compiledPath == null) {
+      throw new IllegalArgumentException("File path cannot be null.");
+    }
+    int numRoom = roomNames.length;
+    int numEdges = graph.getNumEdges();
+    byte[][] names = new byte[2 + numRoom + items.length][];
+    names[0] = targetName.getBytes(StandardCharsets.UTF_8);
+    names[1] = petName.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < numRoom; i++) {
+      names[2 + i] = roomNames[i].getBytes(StandardCharsets.UTF_8);
+    }
+    for (int i = 0; i < items.length; i++) {
+      names[2 + numRoom + i] = items[i].getName().getBytes(StandardCharsets.UTF_8);
+    }
+    long size = 4 * (8 + 5L * numRoom + 1 + numEdges + 2L * items.length);
+    for (byte[] name : names) {
+      size += 4 + name.length;
+    }
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("World is too large to compile.");
+    }
+    ByteBuffer buffer = ByteBuffer.allocate((int) size);
+    buffer.putInt(COMPILED_MAGIC).putInt(COMPILED_VERSION).putInt(rows).putInt(cols)
+        .putInt(targetHealth).putInt(numRoom).putInt(items.length).putInt(numEdges);
+    IntBuffer ints = buffer.asIntBuffer();
+    ints.put(upRows).put(upCols).put(downRows).put(downCols);
+    graph.putCsr(ints);
+    ints.put(itemRoomIds);
+    for (Item item : items) {
+      ints.put(item.getPower());
+    }
+    buffer.position(buffer.position() + 4 * ints.position());
+    for (byte[] name : names) {
+      buffer.putInt(name.length).put(name);
+    }
+    buffer.flip();
+    try (FileChannel channel = FileChannel.open(Paths.get(compiledPath),
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException | InvalidPathException e) {
+      throw new IllegalArgumentException("Unable to write file content.");
+    }
+  }
+
+  /**
+   * Helper method to validate the corners of a room the same way Room does.
+   */
+  private static void checkRoom(WorldTokenizer tokens, int upRow, int upCol, int downRow,
+      int downCol) {
+    if (upRow < 0 || upCol < 0 || downCol < 0 || downRow < 0) {
+      throw tokens.error("Column and row cannot be negative.");
+    }
+    if (upCol >= downCol || upRow >= downRow) {
+      throw tokens.error("Top vertex column cannot be greater than or equal"
+          + " to bottom vertex column.");
+    }
+  }
+
+  /**
+   * Return the path of the file the specification was read from.
+   *
+   * @return path of the world file, null if it was not read from a file
+   */
+  public String getFilePath() {
+    return filePath;
+  }
+
+  /**
+   * Return the number of rows of the map.
+   *
+   * @return number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Return the number of columns of the map.
+   *
+   * @return number of columns
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Return the name of the target character.
+   *
+   * @return name of the target
+   */
+  public String getTargetName() {
+    return targetName;
+  }
+
+  /**
+   * Return the health the target character starts with.
+   *
+   * @return starting health of the target
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Return the name of target's pet.
+   *
+   * @return name of the pet
+   */
+  public String getPetName() {
+    return petName;
+  }
+
+  /**
+   * Return the number of rooms of the world.
+   *
+   * @return number of rooms
+   */
+  public int getNumRoom() {
+    return roomNames.length;
+  }
+
+  /**
+   * Build the room whose id is roomId, with no neighbor, item or player.
+   *
+   * @param roomId id of the room
+   * @return a new room object
+   * @throws IllegalArgumentException if room id does not exist
+   */
+  public Room newRoom(int roomId) {
+    checkRoomId(roomId);
+    return new Room(roomNames[roomId], roomId, upRows[roomId], upCols[roomId],
+        downRows[roomId], downCols[roomId]);
+  }
+
+  /**
+   * Return the ids of the neighbors of a room.
+   *
+   * @param roomId id of the room
+   * @return ids of the neighbors in the order they were found
+   * @throws IllegalArgumentException if room id does not exist
+   */
+  public int[] getNeighborIds(int roomId) {
+    return graph.neighborIds(roomId);
+  }
+
+  /**
+   * Return the neighbors of all rooms as a graph that can be read without allocation.
+   *
+   * @return the graph of the rooms
+   */
+  public RoomGraph getRoomGraph() {
+    return graph;
+  }
+
+  /**
+   * Return the shortest paths between rooms, built the first time they are asked for
+   * and then shared by every game of this world.
+   *
+   * @return the distances between rooms
+   */
+  public synchronized RoomDistances getRoomDistances() {
+    if (distances == null) {
+      distances = new RoomDistances(graph);
+    }
+    return distances;
+  }
+
+  /**
+   * Return the id of the room at a position of the map in constant time. A position
+   * on the border of rooms belongs to the room that comes first in the world file.
+   *
+   * @param x x coordinate in pixels
+   * @param y y coordinate in pixels
+   * @return id of the room, -1 if no room is at this position
+   */
+  public int findRoomId(int x, int y) {
+    if (x < 0 || y < 0) {
+      return -1;
+    }
+    return grid().findRoomId(x, y);
+  }
+
+  private synchronized RoomGrid grid() {
+    if (grid == null) {
+      grid = new RoomGrid(upRows, upCols, downRows, downCols, rows, cols);
+    }
+    return grid;
+  }
+
+  /**
+   * Return the number of items of the world.
+   *
+   * @return number of items
+   */
+  public int getNumItems() {
+    return items.length;
+  }
+
+  /**
+   * Return the item with the given index in the world file.
+   *
+   * @param index index of the item
+   * @return the item, items are immutable and shared by all games
+   * @throws IllegalArgumentException if index is out of range
+   */
+  public Item getItem(int index) {
+    if (index < 0 || index >= items.length) {
+      throw new IllegalArgumentException("Invalid item index.");
+    }
+    return items[index];
+  }
+
+  /**
+   * Return the id of the room the item with the given index starts in.
+   *
+   * @param index index of the item
+   * @return id of the room of the item
+   * @throws IllegalArgumentException if index is out of range
+   */
+  public int getItemRoomId(int index) {
+    if (index < 0 || index >= items.length) {
+      throw new IllegalArgumentException("Invalid item index.");
+    }
+    return itemRoomIds[index];
+  }
+
+  /**
+   * Return the tiles of the map, each drawn the first time it is asked for and kept in
+   * a cache of bounded size shared by every game of this world. Unlike a picture of the
+   * whole map, the memory used does not grow with the size of the world.
+   *
+   * @return the tiles of the map
+   */
+  public synchronized MapTiles getMapTiles() {
+    if (tiles == null) {
+      tiles = new MapTiles(this, MapTiles.TILE_SIZE, MapTiles.MAX_TILES);
+    }
+    return tiles;
+  }
+
+  /**
+   * Return a SHA-256 hash, in hex, of everything the map is drawn from: the size of
+   * the world, the walls and names of the rooms and the version of the drawing code.
+   * Worlds with the same hash draw the same map, whatever their target, pet or items.
+   *
+   * @return the hash of the map
+   */
+  public synchronized String getMapHash() {
+    if (mapHash == null) {
+      MessageDigest digest;
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is not available.");
+      }
+      ByteBuffer ints = ByteBuffer.allocate(5 * 4);
+      ints.putInt(MAP_VERSION).putInt(rows).putInt(cols).putInt(roomNames.length);
+      digest.update(ints.array(), 0, ints.position());
+      for (int i = 0; i < roomNames.length; i++) {
+        byte[] name = roomNames[i].getBytes(StandardCharsets.UTF_8);
+        ints.clear();
+        ints.putInt(upRows[i]).putInt(upCols[i]).putInt(downRows[i]).putInt(downCols[i])
+            .putInt(name.length);
+        digest.update(ints.array());
+        digest.update(name);
+      }
+      StringBuilder hex = new StringBuilder(64);
+      for (byte b : digest.digest()) {
+        hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+            .append(Character.forDigit(b & 0xF, 16));
+      }
+      mapHash = hex.toString();
+    }
+    return mapHash;
+  }
+
+  /**
+   * Draw every room of the world onto a new map picture, which is not kept. The map is
+   * cut into bands of rows drawn in parallel on the given pool, every band through its
+   * own graphics context onto its part of the picture.
+   *
+   * @param pool the pool drawing the bands
+   * @return the map in bufferedImage
+   * @throws IllegalArgumentException if pool is null
+   */
+  public BufferedImage drawMap(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null.");
+    }
+    int mapRow = rows * 30;
+    int mapCol = cols * 30;
+    BufferedImage image = new BufferedImage(mapCol, mapRow, BufferedImage.TYPE_INT_ARGB);
+    // looked up once, so the bands never wait on the lock of the spec
+    RoomGrid roomGrid = grid();
+    List<Callable<Void>> bands = new ArrayList<>();
+    for (int y = 0; y < mapRow; y += BAND_HEIGHT) {
+      int top = y;
+      int height = Math.min(BAND_HEIGHT, mapRow - y);
+      bands.add(() -> {
+        Graphics2D g2d = image.getSubimage(0, top, mapCol, height).createGraphics();
+        drawRegion(roomGrid, g2d, 0, top, mapCol, height);
+        g2d.dispose();
+        return null;
+      });
+    }
+    try {
+      for (Future<Void> band : pool.invokeAll(bands)) {
+        band.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Drawing the map was interrupted.");
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Drawing the map failed.", e.getCause());
+    }
+    return image;
+  }
+
+  /**
+   * Draw the part of the map with its top left corner at pixel x, y onto a picture of
+   * the given size. Only the rooms found in the room grid around that part are drawn,
+   * in the order of their ids so shared walls look the same as on the whole map. The
+   * name of a room is cut at its walls.
+   *
+   * @param g2d    where to draw, its origin is the top left corner of the part
+   * @param x      x coordinate of the part in pixels
+   * @param y      y coordinate of the part in pixels
+   * @param width  width of the part in pixels
+   * @param height height of the part in pixels
+   */
+  void drawRegion(Graphics2D g2d, int x, int y, int width, int height) {
+    drawRegion(grid(), g2d, x, y, width, height);
+  }
+
+  private void drawRegion(RoomGrid roomGrid, Graphics2D g2d, int x, int y, int width,
+      int height) {
+    g2d.setPaint(Color.lightGray);
+    g2d.fillRect(0, 0, width, height);
+    g2d.translate(-x, -y);
+    g2d.setStroke(WALL);
+    g2d.setFont(LABEL_FONT);
+    // only the names are smoothed, set once for every room of the part
+    g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+        RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    Shape clip = g2d.getClip();
+    // walls are drawn one pixel outside the rooms, so look one cell further
+    int[] roomIds = roomGrid.roomsInCells(y / 30 - 1, x / 30 - 1, (y + height) / 30 + 1,
+        (x + width) / 30 + 1);
+    for (int i : roomIds) {
+      int ur = upRows[i];
+      int uc = upCols[i];
+      int dr = downRows[i];
+      int dc = downCols[i];
+      g2d.setPaint(Color.darkGray);
+      g2d.drawRect(uc * 30, ur * 30, (dc - uc) * 30, (dr - ur) * 30);
+      g2d.setPaint(Color.gray);
+      g2d.fillRect(uc * 30, ur * 30, (dc - uc) * 30, (dr - ur) * 30);
+
+      // add text
+      g2d.clipRect(uc * 30, ur * 30, (dc - uc) * 30, (dr - ur) * 30);
+      g2d.setPaint(Color.white);
+      g2d.drawString(roomNames[i], uc * 30 + 5, ur * 30 + 20);
+      g2d.setClip(clip);
+    }
+    g2d.translate(x, y);
+  }
+
+  private void checkRoomId(int roomId) {
+    if (roomId < 0 || roomId >= roomNames.length) {
+      throw new IllegalArgumentException("Room id does not exist.");
+    }
+  }
+
+}
@@ -0,0 +1,271 @@
+package world;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads the tokens of a world file straight from its bytes: ints and names separated
+ * by spaces and tabs, on lines ended by a new line. Bytes are read in large blocks and
+ * scanned once, numbers are built digit by digit and names are decoded from UTF-8 only
+ * once they are complete, so no line is split into words and no regex is run. The
+ * tokenizer knows the line and column it is at, which are added to every error.
+ *
+ */
+final class WorldTokenizer {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final InputStream in;
+  private final Reader reader;
+  private final byte[] buffer;
+  private int pos;
+  private int limit;
+  private int line;
+  // index of the start of the line in the buffer, negative once the buffer is refilled
+  private int lineStart;
+  private byte[] name;
+  private CharsetEncoder encoder;
+  private CharBuffer chars;
+  // the reader is at its end, only the characters left in chars are encoded
+  private boolean eof;
+
+  /**
+   * Constructs a tokenizer reading the bytes of a stream.
+   *
+   * @param in the stream, it is not closed
+   */
+  WorldTokenizer(InputStream in) {
+    this(in, null);
+  }
+
+  /**
+   * Constructs a tokenizer reading the characters of a reader, encoded to UTF-8 a
+   * block at a time.
+   *
+   * @param reader the reader, it is not closed
+   */
+  WorldTokenizer(Reader reader) {
+    this(null, reader);
+    encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    chars = CharBuffer.allocate(BUFFER_SIZE / 4);
+    chars.flip();
+  }
+
+  private WorldTokenizer(InputStream in, Reader reader) {
+    this.in = in;
+    this.reader = reader;
+    this.buffer = new byte[BUFFER_SIZE];
+    this.name = new byte[64];
+    this.line = 1;
+  }
+
+  /**
+   * Read an int after any spaces.
+   *
+   * @param what what the number is, used in the error
+   * @return the number
+   * @throws IllegalArgumentException if there is no number or it does not fit an int
+   */
+  int nextInt(String what) {
+    skipSpaces();
+    int b = peek();
+    boolean negative = b == '-';
+    if (negative) {
+      pos++;
+      b = peek();
+    }
+    if (b < '0' || b > '9') {
+      throw error("expected " + what + ".");
+    }
+    long value = 0;
+    while (b >= '0' && b <= '9') {
+      value = value * 10 + (b - '0');
+      if (value > Integer.MAX_VALUE + 1L) {
+        throw error(what + " is out of range.");
+      }
+      pos++;
+      b = peek();
+    }
+    if (b > ' ' && b != '\r') {
+      throw error("expected " + what + ".");
+    }
+    value = negative ? -value : value;
+    if (value > Integer.MAX_VALUE) {
+      throw error(what + " is out of range.");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Read the words up to the end of the line, joined by single spaces, and move to the
+   * next line.
+   *
+   * @return the words, empty if there are none
+   */
+  String restOfLine() {
+    skipSpaces();
+    int length = 0;
+    boolean space = false;
+    for (int b = peek(); b >= 0 && b != '\n'; b = peek()) {
+      pos++;
+      if (b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B) {
+        space = length > 0;
+        continue;
+      }
+      if (length + 2 > name.length) {
+        name = Arrays.copyOf(name, name.length * 2);
+      }
+      if (space) {
+        name[length++] = ' ';
+        space = false;
+      }
+      name[length++] = (byte) b;
+    }
+    nextLine();
+    return new String(name, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Read the whole line as it is, without the line end, and move to the next line.
+   *
+   * @return the line
+   * @throws IllegalArgumentException if the file ended
+   */
+  String wholeLine() {
+    if (peek() < 0) {
+      throw error("unexpected end of file.");
+    }
+    int length = 0;
+    for (int b = peek(); b >= 0 && b != '\n'; b = peek()) {
+      pos++;
+      if (length + 1 > name.length) {
+        name = Arrays.copyOf(name, name.length * 2);
+      }
+      name[length++] = (byte) b;
+    }
+    if (length > 0 && name[length - 1] == '\r') {
+      length--;
+    }
+    nextLine();
+    return new String(name, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Check that only spaces are left on the line and move to the next line.
+   *
+   * @throws IllegalArgumentException if there is anything else on the line
+   */
+  void endLine() {
+    skipSpaces();
+    int b = peek();
+    if (b >= 0 && b != '\n') {
+      throw error("expected end of line.");
+    }
+    nextLine();
+  }
+
+  /**
+   * Return an exception whose message tells the current line and column.
+   *
+   * @param message what is wrong
+   * @return the exception to throw
+   */
+  IllegalArgumentException error(String message) {
+    int column = pos - lineStart + 1;
+    return new IllegalArgumentException("Line " + line + ", column " + column + ": "
+        + message);
+  }
+
+  private void nextLine() {
+    if (peek() == '\n') {
+      pos++;
+      line++;
+      lineStart = pos;
+    }
+  }
+
+  private void skipSpaces() {
+    for (int b = peek(); b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+        b = peek()) {
+      pos++;
+    }
+  }
+
+  /**
+   * Helper method to return the next byte without reading past it, -1 at the end.
+   */
+  private int peek() {
+    if (pos == limit && !fill()) {
+      return -1;
+    }
+    return buffer[pos] & 0xFF;
+  }
+
+  private boolean fill() {
+    lineStart -= limit;
+    pos = 0;
+    limit = 0;
+    try {
+      int n = in != null ? in.read(buffer) : readChars();
+      if (n <= 0) {
+        return false;
+      }
+      limit = n;
+      return true;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Unable to read file content at line " + line
+          + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Helper method to read characters from the reader and encode them into the buffer.
+   */
+  private int readChars() throws IOException {
+    ByteBuffer out = ByteBuffer.wrap(buffer);
+    while (out.position() == 0) {
+      if (!chars.hasRemaining()) {
+        if (eof) {
+          return -1;
+        }
+        chars.clear();
+        int n = reader.read(chars.array());
+        if (n < 0) {
+          chars.limit(0);
+          eof = true;
+          return -1;
+        }
+        chars.limit(n);
+      }
+      encoder.encode(chars, out, eof);
+      if (!eof && chars.remaining() == 1
+          && Character.isHighSurrogate(chars.get(chars.position()))) {
+        // the low surrogate is in the next block of the reader
+        char high = chars.get();
+        chars.clear();
+        chars.put(high);
+        int n = reader.read(chars.array(), 1, chars.capacity() - 1);
+        chars.position(0);
+        if (n < 0) {
+          // a lone high surrogate ends the input, the bytes before it are returned and
+          // it is encoded as malformed on the next call
+          chars.limit(1);
+          eof = true;
+        } else {
+          chars.limit(n + 1);
+        }
+      }
+    }
+    return out.position();
+  }
+
+}
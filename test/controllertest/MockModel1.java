@@ -1,20 +1,29 @@
 package controllertest;
 
-import java.awt.image.BufferedImage;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 
+import world.ActionEvent;
+import world.ActionJournal;
 import world.BuildWorld;
+import world.GameState;
 import world.Item;
+import world.MapCache;
+import world.MapTiles;
 import world.Pet;
 import world.Piece;
 import world.Player;
 import world.PlayerCharacter;
 import world.Room;
+import world.RoomGraph;
 import world.Space;
 import world.TargetCharacter;
 import world.Weapon;
+import world.WorldSpec;
 
 /**
  * Mock model that used to test SwingController class.
@@ -110,8 +119,14 @@ public class MockModel1 implements BuildWorld {
   }
 
   @Override
-  public void generateMap() {
+  public void setMapCache(MapCache cache) {
+
+  }
+
+  @Override
+  public CompletableFuture<Path> generateMap() {
     log.append("map is created. ");
+    return CompletableFuture.completedFuture(null);
   }
 
   @Override
@@ -171,6 +186,21 @@ public class MockModel1 implements BuildWorld {
     return 0;
   }
 
+  @Override
+  public int randomNum(int max) {
+    return 0;
+  }
+
+  @Override
+  public void setSeed(long seed) {
+
+  }
+
+  @Override
+  public SplittableRandom splitRandom() {
+    return new SplittableRandom(0);
+  }
+
   @Override
   public String attackTarget(int playerId, int itemId) {
     log.append("Player trys to attack target. ");
@@ -233,7 +263,7 @@ public class MockModel1 implements BuildWorld {
   }
 
   @Override
-  public BufferedImage getMap() {
+  public MapTiles getMapTiles() {
     return null;
   }
 
@@ -269,6 +299,16 @@ public class MockModel1 implements BuildWorld {
 
   }
 
+  @Override
+  public RoomGraph getRoomGraph() {
+    return null;
+  }
+
+  @Override
+  public WorldSpec getSpec() {
+    return null;
+  }
+
   @Override
   public String getFilePath() {
     return null;
@@ -279,4 +319,79 @@ public class MockModel1 implements BuildWorld {
     return new Room("a", 0, 0, 1, 1, 5);
   }
 
+  @Override
+  public ActionEvent doMove(int playerId, int roomId) {
+    return null;
+  }
+
+  @Override
+  public int distance(int fromRoomId, int toRoomId) {
+    return 0;
+  }
+
+  @Override
+  public int nextHop(int fromRoomId, int toRoomId) {
+    return fromRoomId;
+  }
+
+  @Override
+  public int turnsUntilTargetReaches(int roomId) {
+    return 0;
+  }
+
+  @Override
+  public int targetRoomAtTurn(int turn) {
+    return 0;
+  }
+
+  @Override
+  public void setJournal(ActionJournal journal) {
+
+  }
+
+  @Override
+  public GameState snapshot() {
+    return null;
+  }
+
+  @Override
+  public void restore(GameState state) {
+
+  }
+
+  @Override
+  public ActionEvent doPickItem(int playerId, int itemId) {
+    return null;
+  }
+
+  @Override
+  public ActionEvent doLookAround(int playerId) {
+    return null;
+  }
+
+  @Override
+  public ActionEvent doAttackTarget(int playerId, int itemId) {
+    return null;
+  }
+
+  @Override
+  public ActionEvent doPokeTarget(int playerId) {
+    return null;
+  }
+
+  @Override
+  public ActionEvent doMovePet(int roomId) {
+    return null;
+  }
+
+  @Override
+  public ActionEvent doMoveTarget() {
+    return null;
+  }
+
+  @Override
+  public String describe(ActionEvent event) {
+    return null;
+  }
+
 }
@@ -289,4 +289,33 @@ public class SwingControllerTest {
         + "Show players in current room.", log2.toString());
     
   }
+
+  @Test
+  public void testUnopenableJournalIsReported() {
+    StringBuilder log1 = new StringBuilder();
+    StringBuilder log2 = new StringBuilder();
+    StringBuffer out = new StringBuffer();
+    BuildWorld model = new MockModel1(log1, 1020244, 0, out);
+    WorldView view = new MockView(log2, 1007545);
+    SwingController controller = new SwingController(model, view);
+    // a directory cannot be opened as a journal, the game goes on without one
+    controller.setJournalPath("res");
+    controller.setView(view);
+    assertEquals("Display following text: \nThis game is not recorded: "
+        + "Unable to open journal file.", log2.toString());
+  }
+
+  @Test
+  public void testWriteMapWithMock() {
+    StringBuilder log1 = new StringBuilder();
+    StringBuilder log2 = new StringBuilder();
+    StringBuffer out = new StringBuffer();
+    BuildWorld model = new MockModel1(log1, 1020245, 0, out);
+    WorldView view = new MockView(log2, 1007546);
+    SwingController controller = new SwingController(model, view);
+    controller.setWriteMap(false);
+    assertEquals("", log1.toString());
+    controller.setWriteMap(true);
+    assertEquals("map is created. ", log1.toString());
+  }
 }
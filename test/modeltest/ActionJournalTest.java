@@ -0,0 +1,156 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import world.ActionJournal;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.GameState;
+import world.JournalReplayer;
+import world.RoomGraph;
+import world.WorldSpec;
+
+/**
+ * Class for testing the ActionJournal and JournalReplayer classes.
+ *
+ */
+public class ActionJournalTest {
+
+  private WorldSpec spec;
+  private File file;
+
+  /**
+   * set up the world and a journal file.
+   */
+  @Before
+  public void setUp() throws IOException {
+    spec = WorldSpec.fromFile("res/mansion.txt");
+    file = File.createTempFile("journal", ".dlj");
+    file.deleteOnExit();
+  }
+
+  /**
+   * Helper method to play a seeded game with a journal and return the state at the end
+   * of every turn, the state at index 0 is the state before the first turn.
+   */
+  private List<GameState> playJournaledGame(long seed) {
+    BuildWorld model = new BuildWorldModel(spec, 60, seed);
+    List<GameState> states = new ArrayList<>();
+    try (ActionJournal journal = new ActionJournal(file.getPath())) {
+      model.setJournal(journal);
+      model.addPlayer("Bob", 0, false, 2, model.randomNum(20));
+      model.addPlayer("Amy Lee", 1, true, 3, model.randomNum(20));
+      model.setMaxTurn(50);
+      states.add(model.snapshot());
+      while (!model.isGameOver()) {
+        int playerId = model.getCurrentPlayer(model.getTurn()).getId();
+        int roomId = model.getPlayerList().get(playerId).getCurrentRoomId();
+        try {
+          switch (model.computerCommand(playerId)) {
+            case "attack":
+              model.attackTarget(playerId, 0);
+              break;
+            case "poke":
+              model.pokeTarget(playerId);
+              break;
+            case "move":
+              RoomGraph graph = model.getRoomGraph();
+              model.move(playerId, graph.neighbor(roomId, model.randomNum(graph.degree(roomId))));
+              break;
+            case "pick":
+              model.pickItem(playerId, 0);
+              break;
+            default:
+              model.movePet(roomId);
+              break;
+          }
+        } catch (IllegalArgumentException e) {
+          // the turn is lost
+        }
+        states.add(model.snapshot());
+        model.nextTurn();
+        if (!model.isGameOver()) {
+          model.moveTarget();
+        }
+      }
+      states.add(model.snapshot());
+      assertTrue(journal.size() > 4);
+    }
+    return states;
+  }
+
+  @Test
+  public void testReplayWholeGame() {
+    List<GameState> states = playJournaledGame(5);
+    BuildWorldModel replayed = JournalReplayer.replay(spec, file.getPath());
+    assertEquals(states.get(states.size() - 1), replayed.snapshot());
+    assertEquals(50, replayed.getMaxTurn());
+    assertEquals("Amy Lee", replayed.getPlayerList().get(1).getName());
+    assertTrue(replayed.getPlayerList().get(1).getIsHuman());
+  }
+
+  @Test
+  public void testReplayToEveryTurn() {
+    List<GameState> states = playJournaledGame(9);
+    for (int turn = 1; turn < states.size() - 1; turn++) {
+      assertEquals(states.get(turn), JournalReplayer.replay(spec, file.getPath(), turn)
+          .snapshot());
+    }
+  }
+
+  @Test
+  public void testSmallRecords() {
+    List<GameState> states = playJournaledGame(1);
+    // a header, the players, and a few bytes per action
+    assertTrue(file.length() < 64 + states.size() * 12L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testJournalSetAfterStart() {
+    BuildWorld model = new BuildWorldModel(spec, 10);
+    model.addPlayer("Bob", 0, false, 2, 0);
+    try (ActionJournal journal = new ActionJournal(file.getPath())) {
+      model.setJournal(journal);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRestoreJournaledGame() {
+    BuildWorld model = new BuildWorldModel(spec, 10);
+    GameState state = model.snapshot();
+    try (ActionJournal journal = new ActionJournal(file.getPath())) {
+      model.setJournal(journal);
+      model.restore(state);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotAJournal() throws IOException {
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(new byte[] {1, 2, 3, 4, 5});
+    }
+    JournalReplayer.replay(spec, file.getPath());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncatedJournal() throws IOException {
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(new byte[] {0x44, 0x4c, 0x4a, 0x31, 0, 10, 2, (byte) 0x80});
+    }
+    JournalReplayer.replay(spec, file.getPath());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidTurn() {
+    JournalReplayer.replay(spec, file.getPath(), 0);
+  }
+
+}
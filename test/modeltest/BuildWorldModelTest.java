@@ -9,6 +9,9 @@ import java.util.List;
 import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
+import world.ActionEvent;
+import world.ActionOutcome;
+import world.ActionType;
 import world.BuildWorld;
 import world.BuildWorldModel;
 import world.Item;
@@ -21,6 +24,7 @@ import world.Space;
 import world.TargetCharacter;
 import world.TargetPet;
 import world.Weapon;
+import world.WorldSpec;
 
 /**
  * Class for testing the BuildWorld class.
@@ -92,6 +96,86 @@ public class BuildWorldModelTest {
 
   }
   
+  @Test
+  public void testFindRoomId() {
+    assertEquals(0, bwm.findRoomId(1, 1));
+    assertEquals(19, bwm.findRoomId(25 * 30, 18 * 30));
+    // border between Bathroom and Bedroom belongs to the first room
+    assertEquals(0, bwm.findRoomId(6 * 30, 3 * 30));
+    List<Space> rooms = bwm.getRoomList();
+    for (int x = 0; x <= 900; x += 7) {
+      for (int y = 0; y <= 900; y += 5) {
+        int expected = -1;
+        for (Space room : rooms) {
+          if (room.getUpCol() * 30 <= x && room.getDownCol() * 30 >= x
+              && room.getUpRow() * 30 <= y && room.getDownRow() * 30 >= y) {
+            expected = room.getId();
+            break;
+          }
+        }
+        if (expected < 0) {
+          continue;
+        }
+        assertEquals(expected, bwm.findRoomId(x, y));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFindRoomIdNoRoom() {
+    bwm.findRoomId(29 * 30 + 15, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFindRoomIdOutOfMap() {
+    bwm.findRoomId(-1, 1);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testRoomListIsReadOnly() {
+    bwm.getRoomList().remove(0);
+  }
+
+  @Test
+  public void testListsAreLiveViews() {
+    List<Player> players = bwm.getPlayerList();
+    List<Item> items = bwm.getItemInRoom(0);
+    assertEquals(0, players.size());
+    bwm.addPlayer("a", 0, true, 5, 0);
+    assertEquals(1, players.size());
+    assertEquals(1, items.size());
+    bwm.pickItem(0, 0);
+    assertEquals(0, items.size());
+    assertEquals(1, players.get(0).getItemList().size());
+  }
+
+  @Test
+  public void testCanBeSeenAfterManyMoves() {
+    Random random = new Random(5);
+    for (int i = 0; i < 4; i++) {
+      bwm.addPlayer("p" + i, i, false, 3, random.nextInt(20));
+    }
+    for (int step = 0; step < 500; step++) {
+      int playerId = random.nextInt(4);
+      Player player = bwm.getPlayerList().get(playerId);
+      List<Space> neighbors = bwm.getNeigList(player.getCurrentRoomId());
+      bwm.move(playerId, neighbors.get(random.nextInt(neighbors.size())).getId());
+      if (step % 7 == 0) {
+        bwm.movePet(random.nextInt(20));
+      }
+      for (Player p : bwm.getPlayerList()) {
+        Space room = bwm.getLocation(p);
+        boolean expected = room.getPlayers().size() > 1;
+        if (!expected && bwm.getPet().getCurrentRoomId() != room.getId()) {
+          for (Space neighbor : room.getNeighbors()) {
+            expected |= neighbor.getPlayers().size() > 0;
+          }
+        }
+        assertEquals(expected, bwm.canBeSeen(p));
+      }
+    }
+  }
+
   @Test
   public void testGetMaxTurn() {
     assertEquals(15, bwm.getMaxTurn());
@@ -799,6 +883,142 @@ public class BuildWorldModelTest {
     assertEquals(0, bwm.getPet().getCurrentRoomId());
   }
   
+  @Test
+  public void testSeededRandomStream() {
+    WorldSpec spec = WorldSpec.fromFile("res/mansion.txt");
+    BuildWorld first = new BuildWorldModel(spec, 15, 42);
+    BuildWorld second = new BuildWorldModel(spec, 15, 42);
+    for (int i = 0; i < 100; i++) {
+      int num = first.randomNum(10);
+      assertEquals(num, second.randomNum(10));
+      assertTrue(num >= 0 && num < 10);
+    }
+    first.setSeed(3);
+    second.setSeed(3);
+    first.addPlayer("Bob", 0, false, 3, 5);
+    second.addPlayer("Bob", 0, false, 3, 5);
+    for (int i = 0; i < 50; i++) {
+      assertEquals(first.computerCommand(0), second.computerCommand(0));
+    }
+    assertEquals(first.splitRandom().nextLong(), second.splitRandom().nextLong());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRandomNumNotPositive() {
+    bwm.randomNum(0);
+  }
+
+  @Test
+  public void testTargetSchedule() {
+    int numRoom = bwm.getRoomList().size();
+    assertEquals(0, bwm.turnsUntilTargetReaches(0));
+    assertEquals(5, bwm.turnsUntilTargetReaches(5));
+    assertEquals(0, bwm.targetRoomAtTurn(1));
+    assertEquals(14, bwm.targetRoomAtTurn(15));
+    bwm.moveTarget();
+    bwm.moveTarget();
+    bwm.moveTarget();
+    bwm.setMaxTurn(3 * numRoom);
+    assertEquals(numRoom - 3, bwm.turnsUntilTargetReaches(0));
+    assertEquals(numRoom - 1, bwm.turnsUntilTargetReaches(2));
+    // the schedule matches the moves of the target turn by turn
+    for (int t = 1; t <= 2 * numRoom; t++) {
+      int expected = bwm.targetRoomAtTurn(t + 1);
+      bwm.nextTurn();
+      bwm.moveTarget();
+      assertEquals(expected, bwm.getTargetCharacter().getCurrentRoomId());
+      assertEquals(0, bwm.turnsUntilTargetReaches(expected));
+    }
+  }
+
+  @Test
+  public void testTargetScheduleEndsWithGame() {
+    // max turn is 15, the target is in room 0 in turn 1 and in room 14 in turn 15
+    assertEquals(14, bwm.turnsUntilTargetReaches(14));
+    assertEquals(-1, bwm.turnsUntilTargetReaches(15));
+    for (int t = 1; t < 15; t++) {
+      bwm.nextTurn();
+      bwm.moveTarget();
+    }
+    assertEquals(15, bwm.getTurn());
+    assertEquals(0, bwm.turnsUntilTargetReaches(14));
+    assertEquals(14, bwm.targetRoomAtTurn(15));
+    assertEquals(-1, bwm.turnsUntilTargetReaches(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTargetRoomAtPastTurn() {
+    bwm.nextTurn();
+    bwm.targetRoomAtTurn(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTargetRoomAfterMaxTurn() {
+    bwm.targetRoomAtTurn(16);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTurnsUntilTargetReachesInvalidRoom() {
+    bwm.turnsUntilTargetReaches(-1);
+  }
+
+  @Test
+  public void testAttackEvent() {
+    bwm.addPlayer("Bob", 0, true, 5, 0);
+    Item knife = new Weapon("knife", 4);
+    bwm.getPlayerList().get(0).pickItem(knife);
+    ActionEvent event = bwm.doAttackTarget(0, 0);
+    assertEquals(ActionType.ATTACK, event.getType());
+    assertEquals(ActionOutcome.DONE, event.getOutcome());
+    assertTrue(event.isDone());
+    assertEquals(0, event.getPlayerId());
+    assertEquals(0, event.getRoomId());
+    assertEquals(knife, event.getItem());
+    assertEquals(16, event.getTargetHealth());
+    assertEquals(16, bwm.targetHealth());
+    assertEquals("Bob attacks target with knife\n"
+        + "Target remaining health: 16\n", bwm.describe(event));
+  }
+  
+  @Test
+  public void testFailedPokeEvents() {
+    bwm.addPlayer("Bob", 0, true, 5, 5);
+    ActionEvent event = bwm.doPokeTarget(0);
+    assertEquals(ActionOutcome.TARGET_NOT_IN_ROOM, event.getOutcome());
+    assertFalse(event.isDone());
+    assertEquals("Attack fails. Target is not in the same room\n", bwm.describe(event));
+    bwm.addPlayer("John", 1, true, 5, 0);
+    bwm.addPlayer("Amy", 2, true, 5, 0);
+    event = bwm.doPokeTarget(1);
+    assertEquals(ActionOutcome.SEEN_BY_OTHERS, event.getOutcome());
+    assertEquals("Attack fails. Player is seen by others\n", bwm.describe(event));
+    assertEquals(20, bwm.targetHealth());
+  }
+  
+  @Test
+  public void testMoveEventsDescribeLikeStrings() {
+    bwm.addPlayer("Bob", 0, true, 5, 0);
+    ActionEvent event = bwm.doMove(0, 1);
+    assertEquals(ActionType.MOVE, event.getType());
+    assertEquals(1, event.getRoomId());
+    assertEquals("Bob moves to " + bwm.getRoomList().get(1).getName() + "\n",
+        bwm.describe(event));
+    event = bwm.doMovePet(5);
+    assertEquals(ActionType.MOVE_PET, event.getType());
+    assertEquals(-1, event.getPlayerId());
+    assertEquals("Pet is moved to Baby's room\n", bwm.describe(event));
+    event = bwm.doMoveTarget();
+    assertEquals(ActionType.MOVE_TARGET, event.getType());
+    assertEquals(bwm.getTargetCharacter().getCurrentRoomId(), event.getRoomId());
+    assertEquals(1, bwm.doLookAround(0).getRoomId());
+    assertEquals(bwm.lookAround(0), bwm.describe(bwm.doLookAround(0)));
+  }
+  
+  @Test(expected = IllegalArgumentException.class)
+  public void testDescribeNullEvent() {
+    bwm.describe(null);
+  }
+  
   @Test
   public void testMovePet() {
     String str = bwm.movePet(5);
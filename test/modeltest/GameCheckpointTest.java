@@ -0,0 +1,156 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.concurrent.Future;
+import org.junit.Before;
+import org.junit.Test;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.GameCheckpoint;
+import world.GameState;
+import world.Weapon;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Class for testing the GameCheckpoint class.
+ *
+ */
+public class GameCheckpointTest {
+
+  private WorldSpec spec;
+  private BuildWorld model;
+  private File dir;
+  private String path;
+
+  /**
+   * set up a game with three players and a directory for the checkpoints.
+   */
+  @Before
+  public void setUp() throws IOException {
+    spec = WorldSpec.fromFile("res/mansion.txt");
+    model = new BuildWorldModel(spec, 15);
+    model.addPlayer("Bob", 0, true, 2, 0);
+    model.addPlayer("John", 1, false, 3, 1);
+    model.addPlayer("Amy Lee", 2, false, 3, 0);
+    dir = Files.createTempDirectory("checkpoint").toFile();
+    dir.deleteOnExit();
+    path = new File(dir, "game.dlc").getPath();
+    new File(path).deleteOnExit();
+  }
+
+  @Test
+  public void testSaveAndLoad() {
+    model.pickItem(0, 0);
+    model.moveTarget();
+    model.nextTurn();
+    model.move(1, 0);
+    model.pokeTarget(1);
+    model.movePet(5);
+    model.nextTurn();
+    model.setMaxTurn(40);
+    GameCheckpoint.save(model, path);
+    BuildWorld loaded = GameCheckpoint.load(spec, path);
+    assertEquals(model.snapshot(), loaded.snapshot());
+    assertEquals(40, loaded.getMaxTurn());
+    assertEquals(3, loaded.getTurn());
+    assertEquals(model.targetHealth(), loaded.targetHealth());
+    assertEquals(model.lookAround(0), loaded.lookAround(0));
+    assertEquals(model.displayPlayerInfo(2), loaded.displayPlayerInfo(2));
+    assertEquals(model.canBeSeen(model.getPlayerList().get(1)),
+        loaded.canBeSeen(loaded.getPlayerList().get(1)));
+  }
+
+  @Test
+  public void testSaveItemNotInWorld() {
+    model.getRoomList().get(0).addItem(new Weapon("Rock", 3));
+    GameCheckpoint.save(model, path);
+    BuildWorld loaded = GameCheckpoint.load(spec, path);
+    assertEquals(model.snapshot(), loaded.snapshot());
+  }
+
+  @Test
+  public void testSaveAsyncTakesStateAtCall() throws Exception {
+    GameState state = model.snapshot();
+    int maxTurn = model.getMaxTurn();
+    Future<Void> done = GameCheckpoint.saveAsync(model, path);
+    model.pickItem(0, 0);
+    model.nextTurn();
+    done.get();
+    BuildWorld loaded = GameCheckpoint.load(spec, path);
+    assertEquals(state, loaded.snapshot());
+    assertEquals(maxTurn, loaded.getMaxTurn());
+  }
+
+  @Test
+  public void testSaveReplacesFile() {
+    GameCheckpoint.save(model, path);
+    model.move(0, 1);
+    GameCheckpoint.save(model, path);
+    assertEquals(1, GameCheckpoint.load(spec, path).getPlayerList().get(0)
+        .getCurrentRoomId());
+    // the temporary file was moved over the checkpoint
+    assertEquals(1, dir.list().length);
+  }
+
+  @Test
+  public void testLoadIsFast() {
+    GameCheckpoint.save(model, path);
+    for (int i = 0; i < 1000; i++) {
+      GameCheckpoint.load(spec, path);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < 1000; i++) {
+      GameCheckpoint.load(spec, path);
+    }
+    long perLoad = (System.nanoTime() - start) / 1000;
+    assertTrue("load took " + perLoad + " ns", perLoad < 1_000_000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadOtherWorld() throws IOException {
+    GameCheckpoint.save(model, path);
+    StringWriter out = new StringWriter();
+    new WorldGenerator(50, 1).write(out);
+    GameCheckpoint.load(WorldSpec.parse(new BufferedReader(new StringReader(
+        out.toString())), null), path);
+  }
+
+  @Test
+  public void testLoadDamagedFile() throws IOException {
+    GameCheckpoint.save(model, path);
+    byte[] data = Files.readAllBytes(new File(path).toPath());
+    for (int length = 0; length < data.length; length += 7) {
+      try (FileOutputStream out = new FileOutputStream(path)) {
+        out.write(data, 0, length);
+      }
+      try {
+        GameCheckpoint.load(spec, path);
+        fail("loaded a checkpoint of " + length + " bytes");
+      } catch (IllegalArgumentException e) {
+        // a truncated checkpoint is rejected
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadMissingFile() {
+    GameCheckpoint.load(spec, new File(dir, "missing.dlc").getPath());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveNull() {
+    GameCheckpoint.save(null, path);
+  }
+
+}
@@ -0,0 +1,124 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.GameState;
+import world.WorldSpec;
+
+/**
+ * Class for testing the snapshot and restore of the state of a game.
+ *
+ */
+public class GameStateTest {
+
+  private WorldSpec spec;
+  private BuildWorld model;
+
+  /**
+   * set up a game with three players.
+   */
+  @Before
+  public void setUp() {
+    spec = WorldSpec.fromFile("res/mansion.txt");
+    model = new BuildWorldModel(spec, 15);
+    model.addPlayer("Bob", 0, true, 2, 0);
+    model.addPlayer("John", 1, false, 3, 1);
+    model.addPlayer("Amy", 2, false, 3, 0);
+  }
+
+  @Test
+  public void testSnapshot() {
+    model.pickItem(0, 0);
+    model.movePet(5);
+    model.moveTarget();
+    GameState state = model.snapshot();
+    assertEquals(1, state.getTurn());
+    assertEquals(1, state.getTargetRoomId());
+    assertEquals(20, state.getTargetHealth());
+    assertEquals(5, state.getPetRoomId());
+    assertEquals(3, state.getNumPlayers());
+    assertEquals(1, state.getPlayerRoomId(1));
+    assertEquals(1, state.getNumItemsInBag(0));
+    assertEquals(0, state.getNumItemsInBag(1));
+    assertEquals(spec.getNumItems() - 1, state.getNumItemsInRooms());
+    assertEquals(state, model.snapshot());
+  }
+
+  @Test
+  public void testRestoreUndoesActions() {
+    GameState state = model.snapshot();
+    String look = model.lookAround(0);
+    String info = model.displayPlayerInfo(0);
+    model.pickItem(0, 0);
+    model.pokeTarget(0);
+    model.move(1, 0);
+    model.movePet(3);
+    model.moveTarget();
+    model.nextTurn();
+    assertFalse(state.equals(model.snapshot()));
+    model.restore(state);
+    assertEquals(state, model.snapshot());
+    assertEquals(look, model.lookAround(0));
+    assertEquals(info, model.displayPlayerInfo(0));
+    assertEquals(1, model.getTurn());
+    assertEquals(0, model.getTargetCharacter().getCurrentRoomId());
+    assertEquals(2, model.getRoomList().get(0).getPlayers().size());
+    assertEquals(1, model.getRoomList().get(1).getPlayers().size());
+    assertEquals(spec.getNumItems(), model.snapshot().getNumItemsInRooms());
+  }
+
+  @Test
+  public void testRestoreKeepsSightCounters() {
+    model.movePet(10);
+    GameState state = model.snapshot();
+    model.move(1, 0);
+    model.move(2, 1);
+    model.restore(state);
+    BuildWorld fork = new BuildWorldModel(spec, 15);
+    fork.restore(state);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(fork.canBeSeen(fork.getPlayerList().get(i)),
+          model.canBeSeen(model.getPlayerList().get(i)));
+    }
+    // John is alone in room 1 and seen from room 0
+    assertTrue(model.canBeSeen(model.getPlayerList().get(1)));
+  }
+
+  @Test
+  public void testRestoreIntoNewGame() {
+    model.pickItem(0, 0);
+    model.moveTarget();
+    GameState state = model.snapshot();
+    BuildWorld fork = new BuildWorldModel(spec, 15);
+    fork.restore(state);
+    assertEquals(state, fork.snapshot());
+    assertEquals(model.lookAround(0), fork.lookAround(0));
+    assertEquals(model.displayPlayerInfo(0), fork.displayPlayerInfo(0));
+    fork.pokeTarget(0);
+    assertEquals(20, model.targetHealth());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRestoreWithOtherPlayers() {
+    BuildWorld other = new BuildWorldModel(spec, 15);
+    other.addPlayer("Bob", 0, true, 2, 0);
+    other.restore(model.snapshot());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRestoreNull() {
+    model.restore(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPlayerId() {
+    model.snapshot().getPlayerRoomId(3);
+  }
+
+}
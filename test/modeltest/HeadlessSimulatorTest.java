@@ -0,0 +1,96 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.Test;
+import world.GameResult;
+import world.HeadlessSimulator;
+import world.SimulationReport;
+import world.Simulator;
+
+/**
+ * Class for testing the HeadlessSimulator class.
+ *
+ */
+public class HeadlessSimulatorTest {
+
+  @Test
+  public void testRunPlaysAllGames() {
+    Simulator simulator = new HeadlessSimulator("res/mansion.txt", 50, 3, 3, 42);
+    SimulationReport report = simulator.run(20);
+    assertEquals(20, report.getNumGames());
+    int wins = 0;
+    for (int w : report.getWins()) {
+      wins += w;
+    }
+    assertEquals(report.getKills(), wins);
+    for (GameResult result : report.getResults()) {
+      assertTrue(result.getTurns() <= 50);
+      assertTrue(result.getHits() <= result.getAttempts());
+      if (result.isTargetKilled()) {
+        assertTrue(result.getTargetHealth() <= 0);
+      } else {
+        assertEquals(50, result.getTurns());
+      }
+    }
+    assertTrue(report.getGamesPerSecond() > 0);
+  }
+
+  @Test
+  public void testReport() {
+    SimulationReport report = new SimulationReport(2);
+    report.add(new GameResult(1, 10, 0, 4, 2));
+    report.add(new GameResult(-1, 20, 5, 0, 0));
+    assertEquals(2, report.getNumGames());
+    assertEquals(1, report.getKills());
+    assertEquals(0.5, report.getKillRate(), 1e-9);
+    assertEquals(15.0, report.getAverageTurns(), 1e-9);
+    assertEquals(0.5, report.getHitRate(), 1e-9);
+    assertEquals(1, report.getWins()[1]);
+  }
+
+  @Test
+  public void testGameSeedsAreNotShiftedStreams() {
+    assertEquals(new SplittableRandom(42).nextLong(), HeadlessSimulator.gameSeed(42, 0));
+    for (int game = 0; game < 10; game++) {
+      long[] first = draws(HeadlessSimulator.gameSeed(42, game), 24);
+      long[] next = draws(HeadlessSimulator.gameSeed(42, game + 1), 24);
+      // no window of one game's first draws shows up in the other's
+      for (int shift = 0; shift < 16; shift++) {
+        assertFalse(Arrays.equals(Arrays.copyOfRange(first, shift, shift + 8),
+            Arrays.copyOf(next, 8)));
+        assertFalse(Arrays.equals(Arrays.copyOfRange(next, shift, shift + 8),
+            Arrays.copyOf(first, 8)));
+      }
+    }
+  }
+
+  private static long[] draws(long seed, int count) {
+    SplittableRandom random = new SplittableRandom(seed);
+    long[] values = new long[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = random.nextLong();
+    }
+    return values;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNumGames() {
+    new HeadlessSimulator("res/mansion.txt", 50, 3, 3, 42).run(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNumPlayers() {
+    new HeadlessSimulator("res/mansion.txt", 50, 0, 3, 42);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWinner() {
+    new SimulationReport(2).add(new GameResult(2, 10, 0, 1, 1));
+  }
+
+}
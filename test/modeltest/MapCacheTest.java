@@ -0,0 +1,205 @@
+package modeltest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import world.BuildWorldModel;
+import world.MapCache;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Class for testing the MapCache class.
+ *
+ */
+public class MapCacheTest {
+
+  private Path dir;
+  private MapCache cache;
+  private WorldSpec spec;
+
+  /**
+   * set up an empty cache directory and the world.
+   *
+   * @throws IOException if the directory cannot be created
+   */
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("mapcache");
+    cache = new MapCache(dir.resolve("maps").toString(), MapCache.MAX_MAPS);
+    spec = WorldSpec.fromFile("res/mansion.txt");
+  }
+
+  /**
+   * remove the cache directory.
+   *
+   * @throws IOException if a file cannot be removed
+   */
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+    }
+  }
+
+  private static WorldSpec generated(long seed) throws IOException {
+    StringWriter out = new StringWriter();
+    new WorldGenerator(50, seed).write(out);
+    return WorldSpec.parse(new BufferedReader(new StringReader(out.toString())), null);
+  }
+
+  @Test
+  public void testStoreEncodesMapOnce() throws Exception {
+    assertFalse(cache.contains(spec));
+    Path file = cache.store(spec).get();
+    assertEquals(cache.getPath(spec), file);
+    assertTrue(cache.contains(spec));
+    BufferedImage map = spec.drawMap(ForkJoinPool.commonPool());
+    BufferedImage cached = ImageIO.read(file.toFile());
+    assertEquals(map.getWidth(), cached.getWidth());
+    for (int y = 0; y < map.getHeight(); y += 7) {
+      for (int x = 0; x < map.getWidth(); x += 7) {
+        assertEquals(map.getRGB(x, y), cached.getRGB(x, y));
+      }
+    }
+    long modified = Files.getLastModifiedTime(file).toMillis();
+    // the same map loaded again is found without encoding
+    WorldSpec again = WorldSpec.fromFile("res/mansion.txt");
+    assertTrue(cache.store(again).isDone());
+    assertEquals(file, cache.store(again).get());
+    assertEquals(modified, Files.getLastModifiedTime(file).toMillis());
+  }
+
+  @Test
+  public void testExportCopiesCachedMap() throws Exception {
+    Path target = dir.resolve("world.png");
+    assertEquals(target, cache.export(spec, target.toString()).get());
+    assertArrayEquals(Files.readAllBytes(cache.getPath(spec)), Files.readAllBytes(target));
+    // exported again over the old picture
+    cache.export(spec, target.toString()).get();
+    assertArrayEquals(Files.readAllBytes(cache.getPath(spec)), Files.readAllBytes(target));
+    try (Stream<Path> files = Files.list(dir.resolve("maps"))) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  public void testOldestMapsAreEvicted() throws Exception {
+    MapCache small = new MapCache(dir.resolve("small").toString(), 2);
+    WorldSpec first = generated(1);
+    WorldSpec second = generated(2);
+    WorldSpec third = generated(3);
+    setAge(small.store(first).get(), 300);
+    setAge(small.store(second).get(), 200);
+    // exporting the first map makes it the last used
+    small.export(first, dir.resolve("first.png").toString()).get();
+    small.store(third).get();
+    assertTrue(small.contains(first));
+    assertFalse(small.contains(second));
+    assertTrue(small.contains(third));
+    try (Stream<Path> files = Files.list(dir.resolve("small"))) {
+      assertEquals(2, files.count());
+    }
+  }
+
+  private static void setAge(Path file, int seconds) throws IOException {
+    Files.setLastModifiedTime(file,
+        FileTime.fromMillis(System.currentTimeMillis() - seconds * 1000L));
+  }
+
+  @Test
+  public void testGenerateMapReportsFailure() throws Exception {
+    Path blocked = Files.createFile(dir.resolve("blocked"));
+    BuildWorldModel model = new BuildWorldModel(spec, 10);
+    // the cache directory cannot be created under a file
+    model.setMapCache(new MapCache(blocked.resolve("maps").toString(), MapCache.MAX_MAPS));
+    try {
+      model.generateMap().get();
+      fail("wrote a map under a file");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void testLargeMapIsRefused() throws Exception {
+    // 9000 x 9000 pixels, more than MapCache.MAX_PIXELS
+    WorldSpec large = WorldSpec.parse(new BufferedReader(new StringReader(
+        "300 300 House\n5 Doctor\nCat\n1\n0 0 2 2 A\n0\n")), null);
+    try {
+      cache.export(large, dir.resolve("large.png").toString()).get();
+      fail("encoded a map of 9000 x 9000 pixels");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+    assertFalse(cache.contains(large));
+  }
+
+  @Test
+  public void testStoreFailureHasCause() throws Exception {
+    Path blocked = Files.createFile(dir.resolve("blocked"));
+    MapCache broken = new MapCache(blocked.resolve("maps").toString(), MapCache.MAX_MAPS);
+    try {
+      broken.store(spec).get();
+      fail("wrote a map under a file");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause().getCause() instanceof IOException);
+    }
+  }
+
+  @Test
+  public void testHashFollowsRooms() throws IOException {
+    assertEquals(64, spec.getMapHash().length());
+    assertEquals(spec.getMapHash(), WorldSpec.fromFile("res/mansion.txt").getMapHash());
+    assertEquals(generated(3).getMapHash(), generated(3).getMapHash());
+    assertNotEquals(generated(3).getMapHash(), generated(4).getMapHash());
+    assertNotEquals(spec.getMapHash(), generated(3).getMapHash());
+  }
+
+  @Test
+  public void testCompiledWorldHasSameHash() throws IOException {
+    Path compiled = dir.resolve("mansion.dlw");
+    spec.writeCompiled(compiled.toString());
+    assertEquals(spec.getMapHash(), WorldSpec.fromFile(compiled.toString()).getMapHash());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDirectory() {
+    new MapCache(null, MapCache.MAX_MAPS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoMapsKept() {
+    new MapCache(dir.toString(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSpec() {
+    cache.store(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullExportPath() {
+    cache.export(spec, null);
+  }
+
+}
@@ -0,0 +1,151 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Before;
+import org.junit.Test;
+import world.MapTiles;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Class for testing the MapTiles class.
+ *
+ */
+public class MapTilesTest {
+
+  private WorldSpec spec;
+
+  /**
+   * set up the world.
+   */
+  @Before
+  public void setUp() {
+    spec = WorldSpec.fromFile("res/mansion.txt");
+  }
+
+  @Test
+  public void testTilesMatchWholeMap() {
+    // a tile size that does not line up with the cells or the map
+    MapTiles tiles = new MapTiles(spec, 100, 4);
+    BufferedImage map = spec.drawMap(ForkJoinPool.commonPool());
+    assertEquals(map.getWidth(), tiles.getWidth());
+    assertEquals(map.getHeight(), tiles.getHeight());
+    assertEquals(9, tiles.getNumTileCols());
+    assertEquals(9, tiles.getNumTileRows());
+    for (int row = 0; row < tiles.getNumTileRows(); row++) {
+      for (int col = 0; col < tiles.getNumTileCols(); col++) {
+        BufferedImage tile = tiles.getTile(col, row);
+        for (int y = 0; y < tile.getHeight(); y++) {
+          for (int x = 0; x < tile.getWidth(); x++) {
+            assertEquals(map.getRGB(col * 100 + x, row * 100 + y), tile.getRGB(x, y));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testEdgeTilesAreCut() {
+    MapTiles tiles = new MapTiles(spec, 256, 4);
+    assertEquals(256, tiles.getTile(0, 0).getWidth());
+    assertEquals(900 - 3 * 256, tiles.getTile(3, 0).getWidth());
+    assertEquals(900 - 3 * 256, tiles.getTile(3, 3).getHeight());
+  }
+
+  @Test
+  public void testCacheDropsLeastRecentlyUsed() {
+    MapTiles tiles = new MapTiles(spec, 100, 3);
+    BufferedImage first = tiles.getTile(0, 0);
+    tiles.getTile(1, 0);
+    tiles.getTile(2, 0);
+    assertSame(first, tiles.getTile(0, 0));
+    assertEquals(3, tiles.getNumDrawnTiles());
+    // (1, 0) is now the least recently used tile
+    tiles.getTile(3, 0);
+    assertEquals(3, tiles.getNumCachedTiles());
+    assertSame(first, tiles.getTile(0, 0));
+    tiles.getTile(1, 0);
+    assertEquals(5, tiles.getNumDrawnTiles());
+    for (int row = 0; row < 9; row++) {
+      for (int col = 0; col < 9; col++) {
+        tiles.getTile(col, row);
+      }
+    }
+    assertEquals(3, tiles.getNumCachedTiles());
+    assertNotSame(first, tiles.getTile(0, 0));
+  }
+
+  @Test
+  public void testLargeWorldDrawsOnlyAskedTiles() throws IOException {
+    StringWriter out = new StringWriter();
+    new WorldGenerator(200000, 2).write(out);
+    WorldSpec large = WorldSpec.parse(new BufferedReader(new StringReader(out.toString())),
+        null);
+    MapTiles tiles = large.getMapTiles();
+    assertSame(tiles, large.getMapTiles());
+    // the whole map would take gigabytes
+    assertTrue((long) tiles.getWidth() * tiles.getHeight() * 4 > 1L << 30);
+    int numTiles = MapTiles.MAX_TILES * 2;
+    for (int i = 0; i < numTiles; i++) {
+      tiles.getTile(i % tiles.getNumTileCols(), i / tiles.getNumTileCols());
+    }
+    assertEquals(numTiles, tiles.getNumDrawnTiles());
+    assertEquals(MapTiles.MAX_TILES, tiles.getNumCachedTiles());
+  }
+
+  @Test
+  public void testPrepareDrawsMissingTiles() {
+    MapTiles tiles = new MapTiles(spec, 100, 10);
+    BufferedImage cached = tiles.getTile(1, 1);
+    tiles.prepare(0, 0, 2, 2);
+    assertEquals(9, tiles.getNumDrawnTiles());
+    assertSame(cached, tiles.getTile(1, 1));
+    assertEquals(9, tiles.getNumDrawnTiles());
+    // parts outside the map are skipped and no more tiles than the cache holds are drawn
+    tiles.prepare(5, 5, 20, 20);
+    assertEquals(10, tiles.getNumCachedTiles());
+    assertEquals(19, tiles.getNumDrawnTiles());
+    BufferedImage map = spec.drawMap(ForkJoinPool.commonPool());
+    BufferedImage tile = tiles.getTile(8, 8);
+    assertEquals(map.getRGB(850, 810), tile.getRGB(50, 10));
+  }
+
+  @Test
+  public void testParallelMapMatchesOneThread() {
+    ForkJoinPool one = new ForkJoinPool(1);
+    ForkJoinPool four = new ForkJoinPool(4);
+    try {
+      BufferedImage serial = spec.drawMap(one);
+      BufferedImage parallel = spec.drawMap(four);
+      for (int y = 0; y < serial.getHeight(); y++) {
+        for (int x = 0; x < serial.getWidth(); x++) {
+          assertEquals(serial.getRGB(x, y), parallel.getRGB(x, y));
+        }
+      }
+    } finally {
+      one.shutdown();
+      four.shutdown();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTileOutsideMap() {
+    new MapTiles(spec, 256, 4).getTile(4, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidTileSize() {
+    new MapTiles(spec, 0, 4);
+  }
+
+}
@@ -0,0 +1,116 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import world.ActionType;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.ComputerAction;
+import world.ComputerPlayer;
+import world.GameState;
+import world.MonteCarloComputerPlayer;
+import world.Weapon;
+import world.WorldSpec;
+
+/**
+ * Class for testing the MonteCarloComputerPlayer class.
+ *
+ */
+public class MonteCarloComputerPlayerTest {
+
+  private WorldSpec spec;
+  private BuildWorld model;
+
+  /**
+   * set up a game with two computer players.
+   */
+  @Before
+  public void setUp() {
+    spec = WorldSpec.fromFile("res/mansion.txt");
+    model = new BuildWorldModel(spec, 50);
+    model.addPlayer("Bob", 0, false, 3, 0);
+    model.addPlayer("John", 1, false, 3, 15);
+    model.movePet(10);
+  }
+
+  @Test
+  public void testAttacksWhenItKills() {
+    model.getPlayerList().get(0).pickItem(new Weapon("Sword", 25));
+    ComputerPlayer player = new MonteCarloComputerPlayer(10000, 2, 200, 20, 1);
+    assertEquals(new ComputerAction(ActionType.ATTACK, 0), player.chooseAction(model, 0));
+  }
+
+  @Test
+  public void testGameIsNotChanged() {
+    GameState state = model.snapshot();
+    new MonteCarloComputerPlayer(10000, 2, 100, 10, 3).chooseAction(model, 0);
+    assertEquals(state, model.snapshot());
+  }
+
+  @Test
+  public void testSameSeedSameAction() {
+    ComputerAction first = new MonteCarloComputerPlayer(10000, 1, 300, 10, 7)
+        .chooseAction(model, 1);
+    ComputerAction second = new MonteCarloComputerPlayer(10000, 1, 300, 10, 7)
+        .chooseAction(model, 1);
+    assertEquals(first, second);
+  }
+
+  @Test
+  public void testPlaysWholeGame() {
+    ComputerPlayer player = new MonteCarloComputerPlayer(5, 2, 50, 8, 11);
+    while (!model.isGameOver()) {
+      int playerId = model.getCurrentPlayer(model.getTurn()).getId();
+      ComputerAction action = player.chooseAction(model, playerId);
+      assertTrue(MonteCarloComputerPlayer.legalActions(model, playerId).contains(action));
+      action.apply(model, playerId);
+      model.nextTurn();
+      if (!model.isGameOver()) {
+        model.moveTarget();
+      }
+    }
+    assertTrue(model.isGameOver());
+  }
+
+  @Test
+  public void testLegalActions() {
+    List<ComputerAction> actions = MonteCarloComputerPlayer.legalActions(model, 0);
+    assertTrue(actions.contains(new ComputerAction(ActionType.LOOK_AROUND, 0)));
+    assertTrue(actions.contains(new ComputerAction(ActionType.POKE, 0)));
+    assertTrue(actions.contains(new ComputerAction(ActionType.MOVE_PET, 0)));
+    assertFalse(actions.contains(new ComputerAction(ActionType.ATTACK, 0)));
+    for (int i = 0; i < model.getRoomGraph().degree(0); i++) {
+      assertTrue(actions.contains(new ComputerAction(ActionType.MOVE,
+          model.getRoomGraph().neighbor(0, i))));
+    }
+    // target is not in room 15
+    assertFalse(MonteCarloComputerPlayer.legalActions(model, 1).contains(
+        new ComputerAction(ActionType.POKE, 0)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPlayerId() {
+    new MonteCarloComputerPlayer(10, 1, 1).chooseAction(model, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBudget() {
+    new MonteCarloComputerPlayer(0, 1, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidThreads() {
+    new MonteCarloComputerPlayer(10, 0, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidActionType() {
+    new ComputerAction(ActionType.MOVE_TARGET, 0);
+  }
+
+}
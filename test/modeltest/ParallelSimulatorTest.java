@@ -0,0 +1,71 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import world.GameResult;
+import world.HeadlessSimulator;
+import world.ParallelSimulator;
+import world.SimulationReport;
+
+/**
+ * Class for testing the ParallelSimulator class.
+ *
+ */
+public class ParallelSimulatorTest {
+
+  @Test
+  public void testRunPlaysAllGames() {
+    SimulationReport report = new ParallelSimulator("res/mansion.txt", 40, 2, 3, 7, 4).run(100);
+    assertEquals(100, report.getNumGames());
+    int wins = 0;
+    for (int w : report.getWins()) {
+      wins += w;
+    }
+    assertEquals(report.getKills(), wins);
+  }
+
+  @Test
+  public void testSameSeedSameGames() {
+    SimulationReport serial = new HeadlessSimulator("res/mansion.txt", 40, 2, 3, 7).run(60);
+    SimulationReport parallel = new ParallelSimulator("res/mansion.txt", 40, 2, 3, 7, 3)
+        .run(60);
+    SimulationReport again = new ParallelSimulator("res/mansion.txt", 40, 2, 3, 7, 2).run(60);
+    assertSameGames(serial, parallel);
+    assertSameGames(serial, again);
+  }
+
+  /**
+   * Helper method to check that two reports hold the same games in the same order.
+   */
+  private static void assertSameGames(SimulationReport expected, SimulationReport actual) {
+    assertEquals(expected.getNumGames(), actual.getNumGames());
+    for (int i = 0; i < expected.getNumGames(); i++) {
+      GameResult e = expected.getResults().get(i);
+      GameResult a = actual.getResults().get(i);
+      assertEquals(e.getWinnerId(), a.getWinnerId());
+      assertEquals(e.getTurns(), a.getTurns());
+      assertEquals(e.getTargetHealth(), a.getTargetHealth());
+      assertEquals(e.getAttempts(), a.getAttempts());
+      assertEquals(e.getHits(), a.getHits());
+    }
+  }
+
+  @Test
+  public void testMerge() {
+    SimulationReport first = new SimulationReport(2);
+    first.add(new GameResult(0, 10, 0, 1, 1));
+    SimulationReport second = new SimulationReport(2);
+    second.add(new GameResult(-1, 30, 4, 2, 0));
+    first.merge(second);
+    assertEquals(2, first.getNumGames());
+    assertEquals(20.0, first.getAverageTurns(), 1e-9);
+    assertEquals(1, first.getWins()[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidThreads() {
+    new ParallelSimulator("res/mansion.txt", 40, 2, 3, 7, 0);
+  }
+
+}
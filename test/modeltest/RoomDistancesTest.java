@@ -0,0 +1,115 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import org.junit.Before;
+import org.junit.Test;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.RoomDistances;
+import world.RoomGraph;
+import world.WorldSpec;
+
+/**
+ * Class for testing the RoomDistances class.
+ *
+ */
+public class RoomDistancesTest {
+
+  private WorldSpec spec;
+  private RoomGraph graph;
+  private RoomDistances distances;
+
+  /**
+   * set up the distances of the mansion.
+   */
+  @Before
+  public void setUp() {
+    spec = WorldSpec.fromFile("res/mansion.txt");
+    graph = spec.getRoomGraph();
+    distances = new RoomDistances(graph);
+  }
+
+  @Test
+  public void testDistances() {
+    assertTrue(distances.isComplete());
+    for (int i = 0; i < graph.getNumRoom(); i++) {
+      assertEquals(0, distances.distance(i, i));
+      for (int j = 0; j < graph.getNumRoom(); j++) {
+        assertEquals(distances.distance(i, j), distances.distance(j, i));
+        assertEquals(graph.isNeighbor(i, j), distances.distance(i, j) == 1);
+      }
+    }
+  }
+
+  @Test
+  public void testNextHopFollowsShortestPath() {
+    for (int i = 0; i < graph.getNumRoom(); i++) {
+      for (int j = 0; j < graph.getNumRoom(); j++) {
+        int room = i;
+        int moves = 0;
+        while (room != j) {
+          int next = distances.nextHop(room, j);
+          assertTrue(graph.isNeighbor(room, next));
+          assertEquals(distances.distance(room, j) - 1, distances.distance(next, j));
+          room = next;
+          moves++;
+        }
+        assertEquals(distances.distance(i, j), moves);
+        assertEquals(i, distances.nextHop(i, i));
+      }
+    }
+  }
+
+  @Test
+  public void testLazyMatchesEager() {
+    RoomDistances lazy = new RoomDistances(graph, true);
+    assertFalse(lazy.isComplete());
+    for (int i = 0; i < graph.getNumRoom(); i++) {
+      for (int j = 0; j < graph.getNumRoom(); j++) {
+        assertEquals(distances.distance(i, j), lazy.distance(i, j));
+        assertEquals(distances.nextHop(i, j), lazy.nextHop(i, j));
+      }
+    }
+    assertTrue(lazy.isComplete());
+  }
+
+  @Test
+  public void testUnreachableRoom() {
+    String world = "10 10 House\n5 Doctor\nCat\n3\n0 0 2 2 A\n0 2 2 4 B\n5 5 7 7 C\n0\n";
+    WorldSpec islands = WorldSpec.parse(new BufferedReader(new StringReader(world)), null);
+    RoomDistances table = new RoomDistances(islands.getRoomGraph());
+    assertEquals(1, table.distance(0, 1));
+    assertEquals(-1, table.distance(0, 2));
+    assertEquals(-1, table.nextHop(2, 1));
+    assertEquals(1, table.nextHop(0, 1));
+  }
+
+  @Test
+  public void testModelQueries() {
+    BuildWorld model = new BuildWorldModel(spec, 10);
+    assertEquals(distances.distance(3, 17), model.distance(3, 17));
+    assertEquals(distances.nextHop(3, 17), model.nextHop(3, 17));
+    assertTrue(spec.getRoomDistances() == spec.getRoomDistances());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRoomId() {
+    distances.distance(0, graph.getNumRoom());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidFromRoomId() {
+    distances.nextHop(-1, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGraph() {
+    new RoomDistances(null);
+  }
+
+}
@@ -0,0 +1,96 @@
+package modeltest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.RoomGraph;
+import world.Space;
+
+/**
+ * Class for testing the RoomGraph class.
+ *
+ */
+public class RoomGraphTest {
+
+  private BuildWorld model;
+  private RoomGraph graph;
+
+  /**
+   * set up a model and its room graph.
+   */
+  @Before
+  public void setUp() {
+    model = new BuildWorldModel(new String[] {"res/mansion.txt", "15"});
+    graph = model.getRoomGraph();
+  }
+
+  @Test
+  public void testMatchesNeighborList() {
+    assertEquals(20, graph.getNumRoom());
+    for (int i = 0; i < graph.getNumRoom(); i++) {
+      List<Space> neighbors = model.getRoomList().get(i).getNeighbors();
+      assertEquals(neighbors.size(), graph.degree(i));
+      for (int j = 0; j < neighbors.size(); j++) {
+        assertEquals(neighbors.get(j).getId(), graph.neighbor(i, j));
+        assertTrue(graph.isNeighbor(i, neighbors.get(j).getId()));
+        assertTrue(graph.isNeighbor(neighbors.get(j).getId(), i));
+      }
+    }
+  }
+
+  @Test
+  public void testIsNeighbor() {
+    // Bathroom and Bedroom share a wall, Bathroom and Foyer do not
+    assertTrue(graph.isNeighbor(0, 1));
+    assertFalse(graph.isNeighbor(0, 8));
+    assertFalse(graph.isNeighbor(0, 0));
+  }
+
+  @Test
+  public void testNeighborIdsIsCopy() {
+    int[] ids = graph.neighborIds(0);
+    ids[0] = 99;
+    assertEquals(1, graph.neighbor(0, 0));
+  }
+
+  @Test
+  public void testDfsTour() {
+    int[] expected = {0, 1, 2, 3, 4, 7, 6, 5, 6, 8, 19, 18, 9, 13, 12, 10, 11, 10, 12, 13, 14,
+        15, 16, 17, 16, 15, 14, 13, 9, 18, 19, 8, 6, 7, 4, 3, 2, 1, 0};
+    assertEquals(expected.length, graph.dfsTourLength(0));
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], graph.dfsTourRoom(0, i));
+    }
+  }
+
+  @Test
+  public void testDfsTourIsSharedByGames() {
+    BuildWorld other = new BuildWorldModel(model.getSpec(), 15);
+    assertEquals(graph.dfsTourLength(5), other.getRoomGraph().dfsTourLength(5));
+    other.movePetFollowDfs(5, 0);
+    assertEquals(graph.dfsTourRoom(5, 1), other.getPet().getCurrentRoomId());
+    assertEquals(0, model.getPet().getCurrentRoomId());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidTourIndex() {
+    graph.dfsTourRoom(0, graph.dfsTourLength(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNeighborIndex() {
+    graph.neighbor(0, graph.degree(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRoomId() {
+    graph.degree(20);
+  }
+
+}
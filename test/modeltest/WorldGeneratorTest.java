@@ -0,0 +1,127 @@
+package modeltest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import world.Room;
+import world.Space;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Class for testing the WorldGenerator class and the validation of generated worlds.
+ *
+ */
+public class WorldGeneratorTest {
+
+  private WorldSpec generate(int numRoom, long seed) throws IOException {
+    StringWriter out = new StringWriter();
+    new WorldGenerator(numRoom, seed).write(out);
+    return WorldSpec.parse(new BufferedReader(new StringReader(out.toString())), null);
+  }
+
+  @Test
+  public void testGeneratedWorldIsValid() throws IOException {
+    WorldSpec spec = generate(500, 1);
+    assertEquals(500, spec.getNumRoom());
+    assertEquals(250, spec.getNumItems());
+    for (int i = 0; i < spec.getNumRoom(); i++) {
+      assertTrue(spec.getNeighborIds(i).length > 0);
+    }
+  }
+
+  @Test
+  public void testNeighborsMatchIsNeighbor() throws IOException {
+    WorldSpec spec = generate(300, 7);
+    List<Room> rooms = new ArrayList<>();
+    for (int i = 0; i < spec.getNumRoom(); i++) {
+      rooms.add(spec.newRoom(i));
+    }
+    for (int i = 0; i < rooms.size(); i++) {
+      for (int j = 0; j < rooms.size(); j++) {
+        if (i != j) {
+          rooms.get(i).isNeighbor(rooms.get(j));
+        }
+      }
+      List<Space> neighbors = rooms.get(i).getNeighbors();
+      int[] expected = new int[neighbors.size()];
+      for (int k = 0; k < expected.length; k++) {
+        expected[k] = neighbors.get(k).getId();
+      }
+      assertArrayEquals(expected, spec.getNeighborIds(i));
+    }
+  }
+
+  @Test
+  public void testSameSeedSameWorld() throws IOException {
+    StringWriter first = new StringWriter();
+    new WorldGenerator(100, 3).write(first);
+    StringWriter second = new StringWriter();
+    new WorldGenerator(100, 3).write(second);
+    assertEquals(first.toString(), second.toString());
+  }
+
+  @Test
+  public void testShapeAndItemDensity() throws IOException {
+    StringWriter out = new StringWriter();
+    new WorldGenerator(1000, 50, 2.5, 1, 5).write(out);
+    WorldSpec spec = WorldSpec.parse(new BufferedReader(new StringReader(out.toString())),
+        null);
+    assertEquals(1000, spec.getNumRoom());
+    assertEquals(2500, spec.getNumItems());
+    // 50 rooms side by side in every band, 20 bands
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(spec.newRoom(i / 50 * 50).getUpRow(),
+          spec.newRoom(i).getUpRow());
+    }
+    assertTrue(spec.newRoom(50).getUpRow() > spec.newRoom(49).getUpRow());
+  }
+
+  @Test
+  public void testAdjacencyDensity() throws IOException {
+    for (double density : new double[] {0, 0.5, 1}) {
+      StringWriter out = new StringWriter();
+      new WorldGenerator(400, 20, 0.5, density, 9).write(out);
+      WorldSpec spec = WorldSpec.parse(new BufferedReader(new StringReader(
+          out.toString())), null);
+      int touching = 0;
+      for (int i = 0; i < 400; i++) {
+        if (i % 20 != 19 && spec.getRoomGraph().isNeighbor(i, i + 1)) {
+          touching++;
+        }
+      }
+      // 380 pairs of rooms side by side in a band
+      if (density == 0) {
+        assertEquals(0, touching);
+      } else if (density == 1) {
+        assertEquals(380, touching);
+      } else {
+        assertTrue(touching > 140 && touching < 240);
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidAdjacencyDensity() {
+    new WorldGenerator(10, 3, 0.5, 1.5, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidItemDensity() {
+    new WorldGenerator(10, 3, Double.NaN, 1, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNumRoom() {
+    new WorldGenerator(0, 1);
+  }
+
+}
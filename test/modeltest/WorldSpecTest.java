@@ -0,0 +1,277 @@
+package modeltest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Before;
+import org.junit.Test;
+import world.BuildWorld;
+import world.BuildWorldModel;
+import world.Room;
+import world.Space;
+import world.Weapon;
+import world.WorldGenerator;
+import world.WorldSpec;
+
+/**
+ * Class for testing the WorldSpec class.
+ *
+ */
+public class WorldSpecTest {
+
+  private WorldSpec spec;
+
+  /**
+   * set up a WorldSpec object.
+   */
+  @Before
+  public void setUp() {
+    spec = WorldSpec.fromFile("res/mansion.txt");
+  }
+
+  @Test
+  public void testParse() {
+    assertEquals(30, spec.getRows());
+    assertEquals(30, spec.getCols());
+    assertEquals("Doctor Lucky", spec.getTargetName());
+    assertEquals(20, spec.getTargetHealth());
+    assertEquals("Pikachu", spec.getPetName());
+    assertEquals(20, spec.getNumRoom());
+    assertEquals(20, spec.getNumItems());
+    assertEquals(new Room("Bathroom", 0, 0, 0, 4, 6), spec.newRoom(0));
+    assertEquals(new Weapon("Shower nozzle", 2), spec.getItem(0));
+    assertEquals(0, spec.getItemRoomId(0));
+  }
+
+  @Test
+  public void testNeighborsMatchModel() {
+    BuildWorld model = new BuildWorldModel(new String[] {"res/mansion.txt", "15"});
+    for (int i = 0; i < spec.getNumRoom(); i++) {
+      List<Space> neighbors = model.getNeigList(i);
+      int[] expected = new int[neighbors.size()];
+      for (int j = 0; j < expected.length; j++) {
+        expected[j] = neighbors.get(j).getId();
+      }
+      assertArrayEquals(expected, spec.getNeighborIds(i));
+    }
+  }
+
+  @Test
+  public void testGamesAreIndependent() {
+    BuildWorld first = new BuildWorldModel(spec, 10);
+    BuildWorld second = new BuildWorldModel(spec, 20);
+    first.addPlayer("a", 0, true, 3, 0);
+    first.pickItem(0, 0);
+    first.moveTarget();
+    assertEquals(0, first.getItemInRoom(0).size());
+    assertEquals(1, second.getItemInRoom(0).size());
+    assertEquals(0, second.getPlayerList().size());
+    assertEquals(0, second.getTargetCharacter().getCurrentRoomId());
+    assertEquals(20, second.getMaxTurn());
+    assertSame(spec, second.getSpec());
+    assertEquals("res/mansion.txt", second.getFilePath());
+  }
+
+  @Test
+  public void testMapTilesAreShared() {
+    assertSame(new BuildWorldModel(spec, 10).getMapTiles(),
+        new BuildWorldModel(spec, 10).getMapTiles());
+    assertEquals(900, spec.drawMap(ForkJoinPool.commonPool()).getWidth());
+  }
+
+  @Test
+  public void testNeighborIdsCannotBeChanged() {
+    int first = spec.getNeighborIds(0)[0];
+    spec.getNeighborIds(0)[0] = -1;
+    assertEquals(first, spec.getNeighborIds(0)[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlappedRoom() {
+    WorldSpec.fromFile("res/overlappedRoom.txt");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlappedRoomInSpec() {
+    String world = "10 10 House\n5 Doctor\nCat\n3\n0 0 2 2 A\n0 2 2 4 B\n1 3 3 5 C\n0\n";
+    WorldSpec.parse(new BufferedReader(new StringReader(world)), null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSameRoomTwice() {
+    String world = "10 10 House\n5 Doctor\nCat\n2\n0 0 2 2 A\n0 0 2 2 B\n0\n";
+    WorldSpec.parse(new BufferedReader(new StringReader(world)), null);
+  }
+
+  @Test
+  public void testCornerIsNotNeighbor() {
+    String world = "10 10 House\n5 Doctor\nCat\n3\n0 0 2 2 A\n2 2 4 4 B\n0 2 2 6 C\n0\n";
+    WorldSpec corner = WorldSpec.parse(new BufferedReader(new StringReader(world)), null);
+    assertArrayEquals(new int[] {2}, corner.getNeighborIds(0));
+    assertArrayEquals(new int[] {2}, corner.getNeighborIds(1));
+    assertArrayEquals(new int[] {0, 1}, corner.getNeighborIds(2));
+  }
+
+  @Test
+  public void testCompiledWorldMatchesText() throws IOException {
+    File file = File.createTempFile("mansion", ".dlw");
+    file.deleteOnExit();
+    spec.writeCompiled(file.getPath());
+    WorldSpec compiled = WorldSpec.fromFile(file.getPath());
+    assertEquals(spec.getRows(), compiled.getRows());
+    assertEquals(spec.getCols(), compiled.getCols());
+    assertEquals(spec.getTargetName(), compiled.getTargetName());
+    assertEquals(spec.getTargetHealth(), compiled.getTargetHealth());
+    assertEquals(spec.getPetName(), compiled.getPetName());
+    assertEquals(spec.getNumRoom(), compiled.getNumRoom());
+    for (int i = 0; i < spec.getNumRoom(); i++) {
+      assertEquals(spec.newRoom(i), compiled.newRoom(i));
+      assertArrayEquals(spec.getNeighborIds(i), compiled.getNeighborIds(i));
+    }
+    assertEquals(spec.getNumItems(), compiled.getNumItems());
+    for (int i = 0; i < spec.getNumItems(); i++) {
+      assertEquals(spec.getItem(i), compiled.getItem(i));
+      assertEquals(spec.getItemRoomId(i), compiled.getItemRoomId(i));
+    }
+    for (int x = 0; x < 900; x += 15) {
+      assertEquals(spec.findRoomId(x, x / 2), compiled.findRoomId(x, x / 2));
+    }
+    BuildWorld model = new BuildWorldModel(new String[] {file.getPath(), "10"});
+    BuildWorld expected = new BuildWorldModel(spec, 10);
+    model.addPlayer("Bob", 0, true, 2, 3);
+    expected.addPlayer("Bob", 0, true, 2, 3);
+    assertEquals(expected.lookAround(0), model.lookAround(0));
+  }
+
+  @Test
+  public void testDamagedCompiledWorld() throws IOException {
+    File file = File.createTempFile("mansion", ".dlw");
+    file.deleteOnExit();
+    spec.writeCompiled(file.getPath());
+    byte[] data = Files.readAllBytes(file.toPath());
+    for (int length = 4; length < data.length; length += 13) {
+      try (FileOutputStream out = new FileOutputStream(file)) {
+        out.write(data, 0, length);
+      }
+      try {
+        WorldSpec.fromFile(file.getPath());
+        fail("read a compiled world of " + length + " bytes");
+      } catch (IllegalArgumentException e) {
+        // a truncated compiled world is rejected
+      }
+    }
+  }
+
+  @Test
+  public void testCorruptedCompiledNeighbors() throws IOException {
+    File file = File.createTempFile("mansion", ".dlw");
+    file.deleteOnExit();
+    spec.writeCompiled(file.getPath());
+    byte[] data = Files.readAllBytes(file.toPath());
+    assertArrayEquals(new int[] {1, 10}, spec.getNeighborIds(0));
+    // unsorted, duplicated, self loop and one way neighbors of the first room
+    int[][] corrupted = {{10, 1}, {1, 1}, {0, 10}, {1, 11}};
+    for (int[] neighbors : corrupted) {
+      ByteBuffer buffer = ByteBuffer.wrap(data.clone());
+      // the neighbors follow the header, the four corners and the offsets of every room
+      int first = 4 * (8 + 5 * spec.getNumRoom() + 1);
+      buffer.putInt(first, neighbors[0]).putInt(first + 4, neighbors[1]);
+      Files.write(file.toPath(), buffer.array());
+      try {
+        WorldSpec.fromFile(file.getPath());
+        fail("read neighbors " + neighbors[0] + " " + neighbors[1]);
+      } catch (IllegalArgumentException e) {
+        // the graph of a damaged compiled world is rejected
+      }
+    }
+  }
+
+  private WorldSpec parse(String world) {
+    return WorldSpec.parse(new BufferedReader(new StringReader(world)), null);
+  }
+
+  private void assertParseError(String expected, String world) {
+    try {
+      parse(world);
+      fail("parsed an invalid world");
+    } catch (IllegalArgumentException e) {
+      assertEquals(expected, e.getMessage());
+    }
+  }
+
+  @Test
+  public void testParseSpacesAndLineEnds() {
+    WorldSpec world = parse("10 10 House\r\n 5\tDoctor   Who \r\nCat Two\r\n2\r\n"
+        + "0 0 2 2\tLiving  room\r\n2 0 4 2 Caf\u00e9\r\n1\r\n1 3 Big   knife");
+    assertEquals("Doctor Who", world.getTargetName());
+    assertEquals(5, world.getTargetHealth());
+    assertEquals("Cat Two", world.getPetName());
+    assertEquals(new Room("Living room", 0, 0, 0, 2, 2), world.newRoom(0));
+    assertEquals(new Room("Caf\u00e9", 1, 2, 0, 4, 2), world.newRoom(1));
+    assertEquals(new Weapon("Big knife", 3), world.getItem(0));
+    assertEquals(1, world.getItemRoomId(0));
+  }
+
+  @Test
+  public void testParseLoneHighSurrogateAtEnd() {
+    WorldSpec world = parse("10 10 House\n5 Doctor\nCat\n1\n0 0 2 2 A\n1\n0 3 Knife\uD83D");
+    assertEquals(new Weapon("Knife?", 3), world.getItem(0));
+  }
+
+  @Test
+  public void testParseErrorsHaveLineAndColumn() {
+    String head = "10 10 House\n5 Doctor\nCat\n";
+    assertParseError("Line 1, column 4: expected number of columns.", "10 x\n");
+    assertParseError("Line 2, column 2: Health cannot be 0 or negative.",
+        "10 10 House\n0 Doctor\n");
+    assertParseError("Line 4, column 3: expected end of line.", head + "1 2\n");
+    assertParseError("Line 5, column 7: expected column of the bottom right corner.",
+        head + "1\n0 0 2 x A\n");
+    assertParseError("Line 5, column 10: Room cannot exceed the range of map.",
+        head + "1\n0 0 2 400 A\n");
+    assertParseError("Line 7, column 2: Room id does not exist.",
+        head + "1\n0 0 2 2 A\n1\n1 3 Knife\n");
+    assertParseError("Line 7, column 1: expected room id of the item.",
+        head + "1\n0 0 2 2 A\n1\n");
+    assertParseError("Line 1, column 10: number of rows is out of range.",
+        "9999999999 10\n");
+  }
+
+  @Test
+  public void testParseLargeWorldFile() throws IOException {
+    File file = File.createTempFile("large", ".txt");
+    file.deleteOnExit();
+    new WorldGenerator(20000, 3).writeFile(file.getPath());
+    WorldSpec fromFile = WorldSpec.fromFile(file.getPath());
+    WorldSpec fromReader = WorldSpec.parse(Files.newBufferedReader(file.toPath()), null);
+    assertEquals(20000, fromFile.getNumRoom());
+    for (int i = 0; i < fromFile.getNumRoom(); i += 97) {
+      assertEquals(fromReader.newRoom(i), fromFile.newRoom(i));
+      assertArrayEquals(fromReader.getNeighborIds(i), fromFile.getNeighborIds(i));
+    }
+    assertEquals(fromReader.getItem(fromReader.getNumItems() - 1),
+        fromFile.getItem(fromFile.getNumItems() - 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingFile() {
+    WorldSpec.fromFile("res/missing.txt");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSpec() {
+    new BuildWorldModel((WorldSpec) null, 10);
+  }
+
+}